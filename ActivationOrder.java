@@ -0,0 +1,31 @@
+/**
+ * The order the actors of a step act in, when they are stepped
+ * on the calling thread. Each order but the first is drawn afresh each
+ * step from the activation seed and the step, so a run can be repeated.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public enum ActivationOrder
+{
+    /**
+     * The actors act in the order of the list, so those early in the
+     * list always get the first pick of prey and free cells. This is
+     * the order unless another is chosen.
+     */
+    IN_ORDER,
+
+    /**
+     * The actors act in the order of the list, starting from a point of
+     * it chosen each step and going round.
+     */
+    ROTATED,
+
+    /**
+     * The list is cut into blocks, which are visited in a pseudo-random
+     * permutation; each block is walked forwards or backwards, at random.
+     * With blocks of one actor, every actor is equally likely to act
+     * before any other; longer blocks keep more of the list's locality.
+     */
+    PERMUTED;
+}
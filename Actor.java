@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -14,20 +13,14 @@ public abstract class Actor
     // Object of type Randomizer to control randomization of the simulation.
     private static final Random rand = Randomizer.getRandom();
 
-    // The gender of the Actor
-    private final Gender gender;
-
-    // The maximum age of the Actor.
-    private final int maxAge;
+    // The id of the Actor, unique within its field.
+    private long id;
 
-    // The minimum age at which breeding can occur.
-    private final int breedingAge;
-
-    // The chance of producing offspring.
-    private final double breedingProbability;
+    // The gender of the Actor
+    private Gender gender;
 
-    //The maximum number of offspring of the Actor.
-    private final int maxLitterSize;
+    // The descriptor of the Actor's species, holding its maximum age, breeding age, breeding probability and litter size.
+    private final SpeciesTraits species;
 
     // The Actor's field.
     private Field field;
@@ -38,8 +31,20 @@ public abstract class Actor
     // Whether the Actor is alive or not.
     private boolean alive;
 
-    // The current age of the Actor.
-    private int age;
+    // The wheel holding the Actor's timed events, whose tick counts the steps it has been active in.
+    private TimingWheel clock;
+
+    // The tick at which the Actor was age 0.
+    private int birthTick;
+
+    // The tick of the Actor's last turn, up to which its age is counted.
+    private int turnTick;
+
+    // Whether the Actor's death of old age or starvation has come due, so it dies at its next turn.
+    private boolean deathDue;
+
+    // The Actor's death of old age or, for an animal, of starvation, whichever is due first.
+    private final Death death;
 
     // The disease carried by the actor.
     private Disease disease;
@@ -51,37 +56,126 @@ public abstract class Actor
      * @param field     The field, in which the Actor is placed in.
      * @param location  The location of the Actor in the field.
      * @param gender    The gender of the Actor.
+     * @param species   The descriptor of the Actor's species.
+     */
+    public Actor(Field field, Location location, boolean randomAge, Gender gender, SpeciesTraits species)
+    {
+        this.species = species;
+        death = new Death();
+        born(field, location, randomAge, gender);
+    }
+
+    /**
+     * Bring the Actor to life at a location, as a newborn or with a
+     * random age. A new Actor is born once; one taken dead from a pool
+     * is born again, with the same draws from the randomizer.
+     *
+     * @param field     The field, in which the Actor is placed in.
+     * @param location  The location of the Actor in the field.
+     * @param randomAge Whether the age of the Actor will be defined randomly.
+     * @param gender    The gender of the Actor.
      */
-    public Actor(Field field, Location location, boolean randomAge, Gender gender, int maxAge, int breedingAge, double breedingProbability, int maxLitterSize)
+    protected void born(Field field, Location location, boolean randomAge, Gender gender)
     {
+        clock = field.getWheel(species.getActiveTime());
         if (randomAge) {
-            age = rand.nextInt(maxAge);
+            birthTick = clock.getTick() - rand.nextInt(species.getMaxAge());
         } else {
-            age = 0;
+            birthTick = clock.getTick();
         }
+        turnTick = clock.getTick();
+        deathDue = false;
 
-        this.maxAge = maxAge;
-        this.breedingAge = breedingAge;
-        this.breedingProbability = breedingProbability;
-        this.maxLitterSize = maxLitterSize;
         this.field = field;
         this.gender = gender;
-        setLocation(location);
+        id = field.nextActorId();
         disease = null;
         alive = true;
+        this.location = null;
+        if (!setLocation(location)) {
+            // Another thread took the cell first, so the Actor is never born.
+            discard();
+        } else {
+            clock.schedule(death, birthTick + species.getMaxAge() + 1);
+        }
     }
 
     /**
-     * Increment the age of the Actor.
-     * This could result in the death of the Actor.
+     * The death of an Actor of old age or starvation. It fires at the
+     * tick it was last due, as the step begins, and marks the Actor to
+     * die at its turn in the step; if the Actor has since eaten, it is
+     * scheduled again for the tick the Actor is now due to die.
      */
-    public void incrementAge()
+    private class Death extends TimedEvent
     {
-        age++;
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void fire(TimingWheel wheel)
+        {
+            int due = getDeathTick();
+            if (due <= wheel.getTick()) {
+                deathDue = true;
+            } else {
+                wheel.schedule(this, due);
+            }
+        }
+    }
 
-        if (age > maxAge) {
+    /**
+     * Return the tick at which the Actor dies if nothing kills it first.
+     * An Actor dies of old age in the first step it is older than its
+     * maximum age.
+     *
+     * @return The tick of the Actor's clock at which it dies.
+     */
+    protected int getDeathTick()
+    {
+        return birthTick + species.getMaxAge() + 1;
+    }
+
+    /**
+     * Schedule the Actor's death for the tick it is due, if it is alive.
+     * Only needed when the tick is brought forward; a death put off
+     * is found when the earlier one fires.
+     */
+    protected void scheduleDeath()
+    {
+        if (alive) {
+            clock.schedule(death, getDeathTick());
+        }
+    }
+
+    /**
+     * Begin the Actor's turn in a step: it is a step older, and it dies
+     * if its death of old age or starvation has come due. Until its
+     * turn, the other actors see it alive and at its age in the last step.
+     *
+     * @return Whether the Actor is alive to take its turn.
+     */
+    protected boolean takeTurn()
+    {
+        if (!alive) {
+            return false;
+        }
+        turnTick = clock.getTick();
+        if (deathDue) {
             setDead();
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Return the current tick of the Actor's clock, the number of
+     * steps taken at the time of day it is active.
+     *
+     * @return The current tick.
+     */
+    protected int getCurrentTick()
+    {
+        return clock.getTick();
     }
 
     /**
@@ -89,20 +183,47 @@ public abstract class Actor
      * This is based on the defined bounds.
      *
      * @param newActors A list to add newborn actors.
-     * @param bounds    The predefined bounds for the birth of new actors.
+     * @param area      The movement area for the birth of new actors.
      */
-    protected void giveBirth(List<Actor> newActors, ArrayList<Bound> bounds)
+    protected void giveBirth(List<Actor> newActors, MovementArea area)
     {
-        List<Location> free = field.getFreeAdjacentLocations(getLocation(), bounds, 1);
         int births = breed();
-        for (int b = 0; b < births && free.size() > 0; b++) {
-            Location loc = free.remove(0);
-            Actor young = makeYoung(field, loc);
+        if (births == 0) {
+            return;
+        }
+
+        // Place the young in the free adjacent cells, in a random order.
+        NeighbourCursor cursor = field.freeNeighbours(getLocation(), area, 1);
+        while (births > 0 && cursor.next()) {
+            Actor young = makeNewborn(cursor.getLocation());
+            if (!young.isAlive()) {
+                // Another thread took the cell; try the next one.
+                continue;
+            }
             newActors.add(young);
             transferDisease(young);
+            births--;
         }
     }
 
+    /**
+     * Return a newborn of the Actor's species at a location, taken from
+     * the field's pool of dead actors if there is one left, or else new.
+     *
+     * @param location The location of the newborn.
+     * @return The newborn.
+     */
+    private Actor makeNewborn(Location location)
+    {
+        ActorPool pool = field.getPool();
+        Actor young = pool == null ? null : pool.take(species.getOrdinal());
+        if (young == null) {
+            return makeYoung(field, location);
+        }
+        young.reuse(field, location, false);
+        return young;
+    }
+
     /**
      * This method returns the number of births, dependent on the Actor's breeding probability and max litter size.
      * If the actor has been affected by a disease, these values may be different.
@@ -112,8 +233,8 @@ public abstract class Actor
      */
     public int breed()
     {
-        double breedingProbability = this.breedingProbability;
-        int maxLitterSize = this.maxLitterSize;
+        double breedingProbability = species.getBreedingProbability();
+        int maxLitterSize = species.getMaxLitterSize();
 
         if (disease != null && disease.hasMutated()) {
             if (disease.getMutationType() == Mutation.BREEDING_PROBABILITY) {
@@ -144,14 +265,64 @@ public abstract class Actor
      * Place the Actor at a new location in the field.
      *
      * @param newLocation The Actor's new location.
+     * @return true if the Actor moved, false if another thread
+     *         took the location first.
      */
-    protected void setLocation(Location newLocation)
+    protected boolean setLocation(Location newLocation)
     {
-        if (location != null) {
-            field.clear(location);
+        if (!field.move(this, location, newLocation)) {
+            return false;
         }
         location = newLocation;
-        field.place(this, newLocation);
+        return true;
+    }
+
+    /**
+     * Move the Actor to a new location in the field. If another
+     * thread takes the location first, the Actor moves to another
+     * free adjacent location instead, and if there is none left
+     * it is overcrowded.
+     *
+     * @param newLocation The Actor's new location.
+     * @param area        The movement area of the Actor.
+     */
+    protected void moveTo(Location newLocation, MovementArea area)
+    {
+        if (setLocation(newLocation)) {
+            return;
+        }
+        NeighbourCursor cursor = field.freeNeighbours(location, area, 1);
+        while (cursor.next()) {
+            if (setLocation(cursor.getLocation())) {
+                return;
+            }
+        }
+        // Overcrowding.
+        setDamage();
+    }
+
+    /**
+     * Put the Actor back at the location it started a synchronous
+     * step at, after its move lost a collision. The field has kept
+     * it in that cell throughout the step.
+     *
+     * @param origin The location the Actor started the step at.
+     */
+    public void revertLocation(Location origin)
+    {
+        location = origin;
+    }
+
+    /**
+     * Discard a newborn Actor that lost the cell it was to be born
+     * into during a synchronous step. It was never placed in the field.
+     */
+    public void discard()
+    {
+        death.cancel();
+        alive = false;
+        location = null;
+        field = null;
     }
 
     /**
@@ -200,8 +371,7 @@ public abstract class Actor
     public void setDisease(Disease disease)
     {
         this.disease = disease;
-        this.disease.setActor(this);
-        disease.affect();
+        disease.affect(this);
     }
 
     /**
@@ -222,14 +392,25 @@ public abstract class Actor
      */
     public void setDead()
     {
+        death.cancel();
         alive = false;
         if (location != null) {
-            field.clear(location);
+            field.remove(this, location);
             location = null;
             field = null;
         }
     }
 
+    /**
+     * Retrieves the id of the Actor.
+     *
+     * @return The id of the Actor, unique within its field.
+     */
+    public long getId()
+    {
+        return id;
+    }
+
     /**
      * Retrieves the gender of the Actor.
      *
@@ -250,9 +431,9 @@ public abstract class Actor
     public boolean canBreed()
     {
         if ((disease != null) && (disease.hasMutated()) && (disease.getMutationType() == Mutation.BREEDING_AGE)) {
-            return age >= disease.getNewBreedingAge();
+            return getAge() >= disease.getNewBreedingAge();
         }
-        return age >= breedingAge;
+        return getAge() >= species.getBreedingAge();
     }
 
     /**
@@ -263,6 +444,27 @@ public abstract class Actor
      */
     abstract public void act(List<Actor> newActors);
 
+    /**
+     * Retrieves the time of day at which the actor is active. The actor
+     * does nothing at any other time, so it is only stepped at this time.
+     *
+     * @return The time of day at which the actor is active.
+     */
+    public Time getActiveTime()
+    {
+        return species.getActiveTime();
+    }
+
+    /**
+     * Retrieves the descriptor of the Actor's species.
+     *
+     * @return The descriptor of the Actor's species.
+     */
+    public SpeciesTraits getSpecies()
+    {
+        return species;
+    }
+
     /**
      * Retrieves the age of the actor.
      *
@@ -270,7 +472,7 @@ public abstract class Actor
      */
     public int getAge()
     {
-        return age;
+        return turnTick - birthTick;
     }
 
     /**
@@ -280,7 +482,7 @@ public abstract class Actor
      */
     public int getBreedingAge()
     {
-        return breedingAge;
+        return species.getBreedingAge();
     }
 
     /**
@@ -290,7 +492,7 @@ public abstract class Actor
      */
     public int getLitterSize()
     {
-        return maxLitterSize;
+        return species.getMaxLitterSize();
     }
 
     /**
@@ -300,7 +502,7 @@ public abstract class Actor
      */
     public double getBreedingProbability()
     {
-        return breedingProbability;
+        return species.getBreedingProbability();
     }
 
     /**
@@ -311,4 +513,14 @@ public abstract class Actor
      * @return A newborn Actor.
      */
     abstract public Actor makeYoung(Field field, Location location);
-}
\ No newline at end of file
+
+    /**
+     * Bring a dead actor of this class, taken from a pool, back to life
+     * as its constructor would make a new one.
+     *
+     * @param field     The field for it to be set in.
+     * @param location  The location within the field to be set.
+     * @param randomAge Whether it will be assigned a random age.
+     */
+    abstract public void reuse(Field field, Location location, boolean randomAge);
+}
@@ -0,0 +1,335 @@
+import java.util.Arrays;
+
+/**
+ * The state of actors kept without an object for each, in columns of
+ * primitives indexed by a dense actor id. Each actor takes a byte for
+ * its species, its gender and its state, and an int for its cell, its
+ * birth tick, its food (for an animal the tick at which it starves,
+ * for a plant the food value it has left) and its disease. The ids
+ * of actors that have died are handed out again once they are
+ * released, so the columns only grow as far as the most actors alive
+ * at once.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class ActorColumns
+{
+    // The bit of an actor's state set while it is alive.
+    private static final byte ALIVE = 1;
+
+    // The bit of an actor's state set while it is breeding.
+    private static final byte BREEDING = 2;
+
+    // The bit of an actor's state holding the parity of the tick of its last turn.
+    private static final byte TURN = 4;
+
+    // The bit of an actor's state set while it is alive, if it is one of those the field was populated with.
+    private static final byte FOUNDER = 8;
+
+    // The number of bytes each actor takes in the columns.
+    public static final int BYTES_PER_ACTOR = 3 * Byte.BYTES + 4 * Integer.BYTES;
+
+    // The species, gender ordinal and state bits of each actor.
+    private byte[] species, genders, states;
+
+    // The cell, as row * width + column, the birth tick and the food of each actor.
+    private int[] cells, births, food;
+
+    // The disease of each actor, as a number greater than 0 given by the engine, or 0 if it has none.
+    private int[] diseases;
+
+    // The number of ids handed out so far.
+    private int size;
+
+    // The ids released, to be handed out again.
+    private int[] released;
+
+    // The number of ids released.
+    private int releasedCount;
+
+    /**
+     * Create empty columns.
+     */
+    public ActorColumns()
+    {
+        species = new byte[0];
+        genders = new byte[0];
+        states = new byte[0];
+        cells = new int[0];
+        births = new int[0];
+        food = new int[0];
+        diseases = new int[0];
+        released = new int[0];
+    }
+
+    /**
+     * Remove every actor.
+     */
+    public void clear()
+    {
+        size = 0;
+        releasedCount = 0;
+    }
+
+    /**
+     * Add a living actor, under a released id if there is one.
+     *
+     * @param kind   The species of the actor.
+     * @param gender The gender ordinal of the actor.
+     * @param cell   The cell of the actor.
+     * @param birth  The birth tick of the actor.
+     * @param meal   The food of the actor.
+     * @return The id of the actor.
+     */
+    public int add(int kind, int gender, int cell, int birth, int meal)
+    {
+        int id;
+        if (releasedCount > 0) {
+            id = released[--releasedCount];
+        } else {
+            if (size == species.length) {
+                grow();
+            }
+            id = size++;
+        }
+        species[id] = (byte) kind;
+        genders[id] = (byte) gender;
+        states[id] = ALIVE;
+        cells[id] = cell;
+        births[id] = birth;
+        food[id] = meal;
+        diseases[id] = 0;
+        return id;
+    }
+
+    /**
+     * Hand out the id of a dead actor again. It must no longer be
+     * referred to.
+     *
+     * @param id The id of the actor.
+     */
+    public void release(int id)
+    {
+        if (releasedCount == released.length) {
+            released = Arrays.copyOf(released, Math.max(16, releasedCount * 3 / 2));
+        }
+        released[releasedCount++] = id;
+    }
+
+    /**
+     * Make the columns longer, by half.
+     */
+    private void grow()
+    {
+        int length = Math.max(16, species.length * 3 / 2);
+        species = Arrays.copyOf(species, length);
+        genders = Arrays.copyOf(genders, length);
+        states = Arrays.copyOf(states, length);
+        cells = Arrays.copyOf(cells, length);
+        births = Arrays.copyOf(births, length);
+        food = Arrays.copyOf(food, length);
+        diseases = Arrays.copyOf(diseases, length);
+    }
+
+    /**
+     * @return The number of actors alive, which have not been released.
+     */
+    public int countAlive()
+    {
+        int count = 0;
+        for (int id = 0; id < size; id++) {
+            if ((states[id] & ALIVE) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of ids the columns have room for.
+     */
+    public int getCapacity()
+    {
+        return species.length;
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return The species of the actor.
+     */
+    public int getSpecies(int id)
+    {
+        return species[id];
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return The gender ordinal of the actor.
+     */
+    public int getGender(int id)
+    {
+        return genders[id];
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return Whether the actor is alive.
+     */
+    public boolean isAlive(int id)
+    {
+        return (states[id] & ALIVE) != 0;
+    }
+
+    /**
+     * Set an actor dead. Its id stays taken until it is released.
+     *
+     * @param id The id of the actor.
+     */
+    public void setDead(int id)
+    {
+        states[id] = 0;
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return Whether the actor is breeding.
+     */
+    public boolean isBreeding(int id)
+    {
+        return (states[id] & BREEDING) != 0;
+    }
+
+    /**
+     * Set whether an actor is breeding.
+     *
+     * @param id       The id of the actor.
+     * @param breeding Whether it is breeding.
+     */
+    public void setBreeding(int id, boolean breeding)
+    {
+        if (breeding) {
+            states[id] |= BREEDING;
+        } else {
+            states[id] &= ~BREEDING;
+        }
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return Whether the actor is alive and one of those the field was populated with.
+     */
+    public boolean isFounder(int id)
+    {
+        return (states[id] & FOUNDER) != 0;
+    }
+
+    /**
+     * Mark a living actor as one of those the field was populated with.
+     * The mark is lost when it dies.
+     *
+     * @param id The id of the actor.
+     */
+    public void setFounder(int id)
+    {
+        states[id] |= FOUNDER;
+    }
+
+    /**
+     * Record the tick of an actor's turn, up to which its age is counted.
+     *
+     * @param id   The id of the actor.
+     * @param tick The tick of its time of day.
+     */
+    public void setTurn(int id, int tick)
+    {
+        if ((tick & 1) != 0) {
+            states[id] |= TURN;
+        } else {
+            states[id] &= ~TURN;
+        }
+    }
+
+    /**
+     * Return whether an actor has had its turn at a tick. A living actor
+     * has a turn at every tick of its time of day, so its last turn was
+     * at the tick or the one before, told apart by their parity.
+     *
+     * @param id   The id of the actor.
+     * @param tick The tick of its time of day.
+     * @return Whether its last turn was at the tick.
+     */
+    public boolean hasTurned(int id, int tick)
+    {
+        return ((states[id] & TURN) != 0) == ((tick & 1) != 0);
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return The cell of the actor, as row * width + column.
+     */
+    public int getCell(int id)
+    {
+        return cells[id];
+    }
+
+    /**
+     * Set the cell of an actor.
+     *
+     * @param id   The id of the actor.
+     * @param cell The cell, as row * width + column.
+     */
+    public void setCell(int id, int cell)
+    {
+        cells[id] = cell;
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return The birth tick of the actor.
+     */
+    public int getBirth(int id)
+    {
+        return births[id];
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return The food of the actor: the tick at which an animal starves, or the food value a plant has left.
+     */
+    public int getFood(int id)
+    {
+        return food[id];
+    }
+
+    /**
+     * Set the food of an actor.
+     *
+     * @param id   The id of the actor.
+     * @param meal The tick at which an animal starves, or the food value a plant has left.
+     */
+    public void setFood(int id, int meal)
+    {
+        food[id] = meal;
+    }
+
+    /**
+     * @param id The id of the actor.
+     * @return The disease of the actor, as a number greater than 0, or 0 if it has none.
+     */
+    public int getDisease(int id)
+    {
+        return diseases[id];
+    }
+
+    /**
+     * Set the disease of an actor.
+     *
+     * @param id      The id of the actor.
+     * @param disease The disease, as a number greater than 0, or 0 for none.
+     */
+    public void setDisease(int id, int disease)
+    {
+        diseases[id] = disease;
+    }
+}
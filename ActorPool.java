@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+/**
+ * A pool of dead actors kept for reuse, with a free list for each
+ * species. An actor taken from the pool is brought back to life by
+ * its reuse method, just as its constructor would have made it, so a
+ * birth in a steady population need not allocate. Each free list is
+ * kept to a high-water mark; an actor given back once its species'
+ * list is full is left to the garbage collector.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class ActorPool
+{
+    // The most dead actors kept for each species.
+    private final int cap;
+
+    // The dead actors of each species, by ordinal.
+    private final Actor[][] free;
+
+    // The number of dead actors kept for each species.
+    private final int[] sizes;
+
+    // The number of actors taken from the pool, and given back after the pool was full.
+    private long taken, dropped;
+
+    /**
+     * Create an empty pool.
+     *
+     * @param cap The most dead actors kept for each species.
+     */
+    public ActorPool(int cap)
+    {
+        this.cap = cap;
+        free = new Actor[SpeciesRegistry.size()][0];
+        sizes = new int[SpeciesRegistry.size()];
+    }
+
+    /**
+     * Take a dead actor of a species from the pool. It must be brought
+     * back to life by its reuse method before it is used.
+     *
+     * @param species The ordinal of the species.
+     * @return A dead actor of the species, or null if there is none.
+     */
+    public Actor take(int species)
+    {
+        if (species < 0 || sizes[species] == 0) {
+            return null;
+        }
+        int size = --sizes[species];
+        Actor actor = free[species][size];
+        free[species][size] = null;
+        taken++;
+        return actor;
+    }
+
+    /**
+     * Give an actor no longer referred to back to the pool, unless
+     * its species' free list is full.
+     *
+     * @param actor The actor.
+     */
+    public void give(Actor actor)
+    {
+        int species = actor.getSpecies().getOrdinal();
+        if (species < 0 || sizes[species] == cap) {
+            dropped++;
+            return;
+        }
+        int size = sizes[species];
+        if (size == free[species].length) {
+            free[species] = Arrays.copyOf(free[species], Math.min(cap, Math.max(16, size * 3 / 2)));
+        }
+        free[species][size] = actor;
+        sizes[species] = size + 1;
+    }
+
+    /**
+     * @param species The ordinal of the species.
+     * @return The number of dead actors of the species kept.
+     */
+    public int size(int species)
+    {
+        return sizes[species];
+    }
+
+    /**
+     * @return The most dead actors kept for each species.
+     */
+    public int getCap()
+    {
+        return cap;
+    }
+
+    /**
+     * @return The number of actors taken from the pool.
+     */
+    public long getTaken()
+    {
+        return taken;
+    }
+
+    /**
+     * @return The number of actors given back after their species' free list was full.
+     */
+    public long getDropped()
+    {
+        return dropped;
+    }
+}
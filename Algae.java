@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,6 +33,10 @@ public class Algae extends Plant
     // The amount of food that can be provided to actors from this plant
     private static int nutritionalValue = 20;
 
+    // The descriptor of the Algae, shared by every Algae.
+    private static final SpeciesTraits traits = SpeciesTraits.plant(Algae.class, activeTime, movementArea, gender, () -> nutritionalValue,
+            maxAge, breedingAge, breedingProbability, maxLitterSize);
+
     /**
      * Constructor for the Algae object.
      * The Algae object can have an age that is randomly defined or set at 0.
@@ -44,17 +47,38 @@ public class Algae extends Plant
      */
     public Algae(Field field, Location location, boolean randomAge)
     {
-        super(field, location, randomAge, gender, nutritionalValue, maxAge, breedingAge, breedingProbability, maxLitterSize);
+        super(field, location, randomAge, traits);
+    }
+
+    /**
+     * Retrieves the movement area of the Algae.
+     *
+     * @return The movement area of the Algae.
+     */
+    public static MovementArea getMovementArea()
+    {
+        return movementArea;
     }
 
     /**
-     * Retrieves the Bounds of the Algae.
+     * Retrieves the descriptor of the Algae, shared by every Algae.
      *
-     * @return The bounds of the Algae.
+     * @return The descriptor of the Algae.
      */
-    public static ArrayList<Bound> getBounds()
+    public static SpeciesTraits getTraits()
     {
-        return movementArea.getBounds();
+        return traits;
+    }
+
+    /**
+     * Regrows the Algae while it sleeps. Each Algae asleep adds one to the
+     * food value new Algae are given for every step it sleeps.
+     *
+     * @param plantSteps The number of Algae asleep times the number of steps they slept.
+     */
+    public static void regrow(int plantSteps)
+    {
+        nutritionalValue += plantSteps;
     }
 
     /**
@@ -66,14 +90,9 @@ public class Algae extends Plant
         if (TimeOfDay.getInstance().getTime() == activeTime) {
             // Checks if it is currently the active hours of the Algae.
 
-            incrementAge();
-
-            if (isAlive()) {
-                giveBirth(newActors, getBounds());
+            if (takeTurn()) {
+                giveBirth(newActors, movementArea);
             }
-        } else {
-            nutritionalValue++;
-            // Increment its food value.
         }
     }
 
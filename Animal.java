@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -13,42 +12,55 @@ public abstract class Animal extends Actor
     // Object of type Randomizer to control randomization of the simulation.
     private static final Random rand = Randomizer.getRandom();
 
-    // The hunger level of the animal (zero hunger level equates to death)
-    private int foodLevel;
+    // The tick at which the animal starves unless it eats first.
+    private int starveTick;
 
     // This defines whether the animal is currently breeding.
     private boolean isCurrentlyBreeding;
 
-    // The food value of prey. In effect, this is the
-    // number of steps an Animal can go before it has to eat again.
-    private final int maxFoodValue;
-
     /**
      * The constructor for the Animal object.
      *
      * @param field               The field, in which the Animal will be placed.
      * @param location            The location in the field of the Animal.
      * @param randomAge           Whether the animal will be assigned a random age.
-     * @param femaleProbability   The chances of the animal being of the female gender.
-     * @param maxFoodValue        The maximum number of steps an animal can go without eating food.
-     * @param maxAge              The maximum age of the animal.
-     * @param breedingAge         The age at which, the animal can start to breed.
-     * @param breedingProbability The probability of producing offspring.
-     * @param maxLitterSize       The maximum number that can be produced by an animal at one time.
+     * @param species             The descriptor of the animal's species, holding its chances of being
+     *                            female and the number of steps it can go without eating food.
+     */
+    public Animal(Field field, Location location, boolean randomAge, SpeciesTraits species)
+    {
+        super(field, location, randomAge, setGender(species.getFemaleChances()), species);
+        feed(randomAge);
+    }
+
+    /**
+     * {@inheritDoc}
      */
-    public Animal(Field field, Location location, boolean randomAge, double femaleProbability, int maxFoodValue, int maxAge, int breedingAge, double breedingProbability, int maxLitterSize)
+    @Override
+    public void reuse(Field field, Location location, boolean randomAge)
     {
-        super(field, location, randomAge, setGender(femaleProbability), maxAge, breedingAge, breedingProbability, maxLitterSize);
+        born(field, location, randomAge, setGender(getSpecies().getFemaleChances()));
+        feed(randomAge);
+    }
 
+    /**
+     * Give a new animal its first food level, and schedule its death.
+     *
+     * @param randomAge Whether the animal was assigned a random age.
+     */
+    private void feed(boolean randomAge)
+    {
+        int foodLevel;
         if (randomAge) {
-            foodLevel = rand.nextInt(maxFoodValue);
+            foodLevel = rand.nextInt(getSpecies().getFoodValue());
         } else {
-            foodLevel = maxFoodValue;
+            foodLevel = getSpecies().getFoodValue();
         }
-
-        this.maxFoodValue = maxFoodValue;
+        // The hunger level falls by one each active step, and the animal starves when it reaches zero.
+        starveTick = getCurrentTick() + Math.max(foodLevel, 1);
 
         isCurrentlyBreeding = false;
+        scheduleDeath();
     }
 
     /**
@@ -66,48 +78,59 @@ public abstract class Animal extends Actor
     }
 
     /**
-     * This increments the animal's hunger.
-     * This may lead to the death of the animal.
+     * {@inheritDoc}
+     * An animal also dies once it has gone too long without eating.
      */
-    public void incrementHunger()
+    @Override
+    protected int getDeathTick()
     {
-        foodLevel--;
-        if (foodLevel <= 0) {
-            setDead();
-        }
+        return Math.min(super.getDeathTick(), starveTick);
     }
 
     /**
      * This enables animals to "eat" their prey, which can be of type Actor.
-     * In consequence, sets the food level to the maximum and clears the location.
+     * In consequence, sets the food level to the maximum, putting off starvation, and clears the location.
      *
      * @param field    This is the field, from which the animal is cleared.
      * @param location This is the location in the field, to retrieve the animal.
      */
     public void eat(Field field, Location location)
     {
-        Actor animal = (Actor) field.getObjectAt(location);
-        animal.setDamage();
-        foodLevel = maxFoodValue;
+        if (field.isDeciding()) {
+            // In a synchronous step the meal is held back, as other animals may try to eat the same prey.
+            field.addMeal(this, location);
+            return;
+        }
+        feedOn((Actor) field.getObjectAt(location));
+    }
+
+    /**
+     * Eat a prey, damaging it and setting the food level to the maximum.
+     *
+     * @param prey The prey eaten.
+     */
+    public void feedOn(Actor prey)
+    {
+        prey.setDamage();
+        starveTick = getCurrentTick() + getSpecies().getFoodValue();
     }
 
     /**
      * @param newActors      The list to hold the reference to the newborn animals.
-     * @param interestedIn   The class the animal is interested in.
-     * @param bounds         The defined area for the birth of newborn animals.
+     * @param area           The movement area for the search and the birth of newborn animals.
      * @param searchDistance The maximum search distance within the field to search for mates.
      */
-    public void mate(List<Actor> newActors, Class interestedIn, ArrayList<Bound> bounds, int searchDistance)
+    public void mate(List<Actor> newActors, MovementArea area, int searchDistance)
     {
         Field field = getField();
 
         if (getGender() == Gender.MALE && canBreed()) {
             // A male animal will search for a female within the field using a noise-value/search-distance.
-            List<Location> adjacentFemales = field.adjacentLocationOfGender(getLocation(), bounds, interestedIn, Gender.FEMALE, searchDistance);
-            // Retrieves a list of all the adjacent females, based off the current location in the field.
+            NeighbourCursor cursor = field.neighboursOfSpecies(getLocation(), area, getSpecies().getOrdinal(), Gender.FEMALE, searchDistance);
+            // Visits the adjacent females in a random order, based off the current location in the field.
 
-            for (Location location : adjacentFemales) {
-                Animal animal = (Animal) field.getObjectAt(location);
+            while (cursor.next()) {
+                Animal animal = (Animal) cursor.getObject();
                 if (animal.canBreed() && !animal.getCurrentlyBreeding()) {
                     // The first female that is not currently breeding and can breed, will be set to breed.
                     animal.setCurrentlyBreeding(true);
@@ -119,7 +142,7 @@ public abstract class Animal extends Actor
         } else {
             if (getCurrentlyBreeding()) {
                 // If it is a female it will be set to give birth (based on the breeding probability).
-                giveBirth(newActors, bounds);
+                giveBirth(newActors, area);
             }
         }
     }
@@ -128,9 +151,9 @@ public abstract class Animal extends Actor
      * {@inheritDoc}
      */
     @Override
-    public void giveBirth(List<Actor> newActors, ArrayList<Bound> bounds)
+    public void giveBirth(List<Actor> newActors, MovementArea area)
     {
-        super.giveBirth(newActors, bounds);
+        super.giveBirth(newActors, area);
 
         setCurrentlyBreeding(false);
     }
@@ -0,0 +1,70 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A counter that several threads can update at once,
+ * for fields whose actors are moved by more than one thread.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class AtomicCounter extends Counter
+{
+    // How many of this type exist in the simulation.
+    private final AtomicInteger count;
+
+    /**
+     * Provide a name for one of the simulation types.
+     * @param name  A name, e.g. "Eagle".
+     */
+    public AtomicCounter(String name)
+    {
+        super(name);
+        count = new AtomicInteger();
+    }
+
+    /**
+     * @return The current count for this type.
+     */
+    @Override
+    public int getCount()
+    {
+        return count.get();
+    }
+
+    /**
+     * Increment the current count by one.
+     */
+    @Override
+    public void increment()
+    {
+        count.incrementAndGet();
+    }
+
+    /**
+     * Decrement the current count by one.
+     */
+    @Override
+    public void decrement()
+    {
+        count.decrementAndGet();
+    }
+
+    /**
+     * Set the current count, after counting the participants afresh.
+     * @param count The number of participants of this type.
+     */
+    @Override
+    public void setCount(int count)
+    {
+        this.count.set(count);
+    }
+
+    /**
+     * Reset the current count to zero.
+     */
+    @Override
+    public void reset()
+    {
+        count.set(0);
+    }
+}
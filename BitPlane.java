@@ -0,0 +1,143 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A fixed-size set of bits, one per cell of a field, stored in row-major
+ * order in an array of 64-bit words. The field uses bit planes to answer
+ * membership questions about a cell with a single bit test.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class BitPlane
+{
+    // Atomic access to the words, for planes shared between threads.
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // The number of bits held by the plane.
+    private final int size;
+
+    // The bits, 64 per word. Bit i is held in word i / 64.
+    private final long[] words;
+
+    /**
+     * Create a bit plane with all the bits cleared.
+     *
+     * @param size The number of bits in the plane.
+     */
+    public BitPlane(int size)
+    {
+        this.size = size;
+        words = new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * Return whether a bit is set.
+     *
+     * @param index The index of the bit.
+     * @return true if the bit is set, false otherwise.
+     */
+    public boolean get(int index)
+    {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Set a bit.
+     *
+     * @param index The index of the bit.
+     */
+    public void set(int index)
+    {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Clear a bit.
+     *
+     * @param index The index of the bit.
+     */
+    public void clear(int index)
+    {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Set a bit atomically, so that threads setting and clearing other
+     * bits of the same word at the same time do not undo each other.
+     *
+     * @param index The index of the bit.
+     */
+    public void setAtomic(int index)
+    {
+        WORDS.getAndBitwiseOr(words, index >>> 6, 1L << index);
+    }
+
+    /**
+     * Clear a bit atomically.
+     *
+     * @param index The index of the bit.
+     */
+    public void clearAtomic(int index)
+    {
+        WORDS.getAndBitwiseAnd(words, index >>> 6, ~(1L << index));
+    }
+
+    /**
+     * Clear all the bits.
+     */
+    public void clearAll()
+    {
+        Arrays.fill(words, 0);
+    }
+
+    /**
+     * Return one of the 64-bit words holding the bits.
+     * Word w holds bits 64 * w to 64 * w + 63, with the lowest
+     * index in the least significant bit. This lets callers test
+     * a run of neighbouring cells with a few word-wide operations.
+     *
+     * @param wordIndex The index of the word.
+     * @return The word.
+     */
+    public long getWord(int wordIndex)
+    {
+        return words[wordIndex];
+    }
+
+    /**
+     * Return the 64 bits starting at a given bit, with that bit in
+     * the least significant position. Bits past the end of the
+     * plane read as zero.
+     *
+     * @param index The index of the first bit.
+     * @return The bits.
+     */
+    public long getBits(int index)
+    {
+        int word = index >>> 6;
+        int shift = index & 63;
+        long bits = words[word] >>> shift;
+        if (shift != 0 && word + 1 < words.length) {
+            bits |= words[word + 1] << (64 - shift);
+        }
+        return bits;
+    }
+
+    /**
+     * @return The number of words holding the bits.
+     */
+    public int getWordCount()
+    {
+        return words.length;
+    }
+
+    /**
+     * @return The number of bits in the plane.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+}
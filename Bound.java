@@ -79,8 +79,22 @@ public class Bound {
      */
     public static boolean isWithinBound(Location location, ArrayList<Bound> bounds)
     {
-        for (Bound bound: bounds){
-            if(isWithinBound(location, bound)){
+        return isWithinBound(location.getRow(), location.getCol(), bounds);
+    }
+
+    /**
+     * Checks whether a row and column are within a list of bounds.
+     *
+     * @param row The row to be checked.
+     * @param col The column to be checked.
+     * @param bounds A list of the bounds to be considered.
+     * @return true if the position is within the defined bounds, false otherwise.
+     */
+    public static boolean isWithinBound(int row, int col, ArrayList<Bound> bounds)
+    {
+        // Index the list directly, this is called for every neighbouring cell.
+        for (int i = 0; i < bounds.size(); i++) {
+            if (isWithinBound(row, col, bounds.get(i))) {
                 return true;
             }
         }
@@ -95,14 +109,24 @@ public class Bound {
      * @return true if the location is within the bound, false otherwise.
      */
     public static boolean isWithinBound(Location location, Bound bound) 
+    {
+        return isWithinBound(location.getRow(), location.getCol(), bound);
+    }
+
+    /**
+     * Checks whether a row and column are within a bound.
+     *
+     * @param row The row to be checked.
+     * @param col The column to be checked.
+     * @param bound The bound to be considered.
+     * @return true if the position is within the bound, false otherwise.
+     */
+    public static boolean isWithinBound(int row, int col, Bound bound)
     {
         boolean isWithin = false;
         boolean isWithinRow = false;
         boolean isWithinCol = false;
 
-        int row = location.getRow();
-        int col = location.getCol();
-
         if ((bound.getLocation1().getRow() <= row) && (row < bound.getLocation3().getRow())) {
             // Check whether the location's row is within the bound's row.
             isWithinRow = true;
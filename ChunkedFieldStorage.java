@@ -0,0 +1,357 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Field storage for huge, mostly empty worlds. The field is tiled into
+ * chunks of 8 rows by 64 columns, and a chunk is only allocated when an
+ * actor first lands in it. A chunk that becomes empty again is released,
+ * and a few released chunks are kept for reuse so that an actor wandering
+ * along a chunk border does not allocate a new chunk at every crossing.
+ *
+ * Each chunk holds its cells and its own occupancy planes, with one 64-bit
+ * word per chunk row, so the bits of a run of 64 aligned cells are read
+ * from a single word. Chunks are kept short so that a sparse population
+ * does not pay for thousands of empty cells around each actor. Cells in
+ * unallocated chunks are free, and the movement areas are computed from
+ * their bounds, so an empty region of the field takes no memory beyond
+ * a slot in the chunk directory.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class ChunkedFieldStorage extends FieldStorage
+{
+    // The number of bits of a row addressing a cell within a chunk.
+    private static final int ROW_SHIFT = 3;
+
+    // The number of bits of a column addressing a cell within a chunk.
+    private static final int COL_SHIFT = 6;
+
+    // The number of rows of cells in a chunk.
+    private static final int CHUNK_ROWS = 1 << ROW_SHIFT;
+
+    // The number of columns of cells in a chunk, one per bit of a word.
+    private static final int CHUNK_COLS = 1 << COL_SHIFT;
+
+    // The masks for a row and a column within a chunk.
+    private static final int ROW_MASK = CHUNK_ROWS - 1;
+    private static final int COL_MASK = CHUNK_COLS - 1;
+
+    // The most released chunks kept for reuse.
+    private static final int SPARE_CHUNKS = 64;
+
+    // The plane ids of the occupied plane and the first gender plane;
+    // species planes have ids from 0 up.
+    private static final int OCCUPIED = -1;
+    private static final int FIRST_GENDER = -2;
+
+    // The chunk directory, by chunk row and chunk column. The chunks of a
+    // chunk row are only given an array once one of them is allocated.
+    private final Chunk[][] chunks;
+
+    // The number of chunk columns.
+    private final int chunkCols;
+
+    // Released chunks, emptied and ready for reuse.
+    private final ArrayDeque<Chunk> spare;
+
+    // The number of chunks currently allocated.
+    private long chunkCount;
+
+    /**
+     * Create chunked storage for a field of the given dimensions.
+     *
+     * @param depth      The depth of the field.
+     * @param width      The width of the field.
+     * @param groundPlan The ground plan of the field.
+     */
+    public ChunkedFieldStorage(int depth, int width, GroundPlan groundPlan)
+    {
+        super(depth, width, groundPlan);
+        chunks = new Chunk[(depth + ROW_MASK) >>> ROW_SHIFT][];
+        chunkCols = (width + COL_MASK) >>> COL_SHIFT;
+        spare = new ArrayDeque<>();
+    }
+
+    /**
+     * Return the chunk holding a cell, or null if it is not allocated.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The chunk, or null.
+     */
+    private Chunk chunkAt(int row, int col)
+    {
+        Chunk[] chunkRow = chunks[row >>> ROW_SHIFT];
+        int chunkCol = col >>> COL_SHIFT;
+        if (chunkRow == null || chunkCol >= chunkCols) {
+            return null;
+        }
+        return chunkRow[chunkCol];
+    }
+
+    /**
+     * Return the chunk holding a cell, allocating it if needed.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The chunk.
+     */
+    private Chunk allocate(int row, int col)
+    {
+        Chunk[] chunkRow = chunks[row >>> ROW_SHIFT];
+        if (chunkRow == null) {
+            chunkRow = new Chunk[chunkCols];
+            chunks[row >>> ROW_SHIFT] = chunkRow;
+        }
+        Chunk chunk = chunkRow[col >>> COL_SHIFT];
+        if (chunk == null) {
+            chunk = spare.isEmpty() ? new Chunk() : spare.pop();
+            chunkRow[col >>> COL_SHIFT] = chunk;
+            chunkCount++;
+        }
+        return chunk;
+    }
+
+    /**
+     * Release an empty chunk, keeping it for reuse if there is room.
+     *
+     * @param row The row of a cell in the chunk.
+     * @param col The column of a cell in the chunk.
+     */
+    private void release(int row, int col)
+    {
+        Chunk[] chunkRow = chunks[row >>> ROW_SHIFT];
+        Chunk chunk = chunkRow[col >>> COL_SHIFT];
+        chunkRow[col >>> COL_SHIFT] = null;
+        chunkCount--;
+        if (spare.size() < SPARE_CHUNKS) {
+            spare.push(chunk);
+        }
+    }
+
+    /**
+     * Return the number of chunks currently allocated.
+     *
+     * @return The number of allocated chunks.
+     */
+    public long getChunkCount()
+    {
+        return chunkCount;
+    }
+
+    @Override
+    public Object get(int row, int col)
+    {
+        Chunk chunk = chunkAt(row, col);
+        if (chunk == null) {
+            return null;
+        }
+        return chunk.cells[((row & ROW_MASK) << COL_SHIFT) | (col & COL_MASK)];
+    }
+
+    @Override
+    public int speciesAt(int row, int col)
+    {
+        Chunk chunk = chunkAt(row, col);
+        if (chunk == null) {
+            return -1;
+        }
+        long bit = 1L << (col & COL_MASK);
+        for (int species = 0; species < chunk.species.length; species++) {
+            long[] plane = chunk.species[species];
+            if (plane != null && (plane[row & ROW_MASK] & bit) != 0) {
+                return species;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void put(int row, int col, Object actor, int species, int gender)
+    {
+        Chunk chunk = allocate(row, col);
+        chunk.cells[((row & ROW_MASK) << COL_SHIFT) | (col & COL_MASK)] = actor;
+        chunk.count++;
+
+        long bit = 1L << (col & COL_MASK);
+        int word = row & ROW_MASK;
+        chunk.occupied[word] |= bit;
+        chunk.speciesPlane(species)[word] |= bit;
+        if (gender >= 0) {
+            chunk.genders[gender][word] |= bit;
+        }
+    }
+
+    @Override
+    public void remove(int row, int col, int species, int gender)
+    {
+        Chunk chunk = chunkAt(row, col);
+        chunk.cells[((row & ROW_MASK) << COL_SHIFT) | (col & COL_MASK)] = null;
+
+        long bit = ~(1L << (col & COL_MASK));
+        int word = row & ROW_MASK;
+        chunk.occupied[word] &= bit;
+        chunk.speciesPlane(species)[word] &= bit;
+        if (gender >= 0) {
+            chunk.genders[gender][word] &= bit;
+        }
+
+        chunk.count--;
+        if (chunk.count == 0) {
+            release(row, col);
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        for (int chunkRow = 0; chunkRow < chunks.length; chunkRow++) {
+            if (chunks[chunkRow] == null) {
+                continue;
+            }
+            for (int chunkCol = 0; chunkCol < chunkCols; chunkCol++) {
+                Chunk chunk = chunks[chunkRow][chunkCol];
+                if (chunk != null) {
+                    chunk.empty();
+                    release(chunkRow << ROW_SHIFT, chunkCol << COL_SHIFT);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isWithinArea(MovementArea area, int row, int col)
+    {
+        return boundsContain(area, row, col);
+    }
+
+    @Override
+    public long areaBits(MovementArea area, int row, int col)
+    {
+        return boundsBits(area, row, col);
+    }
+
+    @Override
+    public long occupiedBits(int row, int col)
+    {
+        return bits(OCCUPIED, row, col);
+    }
+
+    @Override
+    public long speciesBits(int species, int row, int col)
+    {
+        return bits(species, row, col);
+    }
+
+    @Override
+    public long genderBits(int gender, int row, int col)
+    {
+        return bits(FIRST_GENDER - gender, row, col);
+    }
+
+    /**
+     * Return the bits of a plane for the 64 cells from (row, col). These
+     * come from one chunk word when col is a multiple of 64,
+     * and from two neighbouring chunks otherwise.
+     *
+     * @param plane The plane id.
+     * @param row   The row of the cells.
+     * @param col   The column of the first cell.
+     * @return The bits of the cells.
+     */
+    private long bits(int plane, int row, int col)
+    {
+        int shift = col & COL_MASK;
+        long bits = word(plane, row, col) >>> shift;
+        if (shift != 0) {
+            bits |= word(plane, row, col + CHUNK_COLS) << (CHUNK_COLS - shift);
+        }
+        return bits;
+    }
+
+    /**
+     * Return the word of a plane for the chunk row holding a cell.
+     *
+     * @param plane The plane id.
+     * @param row   The row of the cell.
+     * @param col   The column of the cell.
+     * @return The word, or zero if the chunk is not allocated.
+     */
+    private long word(int plane, int row, int col)
+    {
+        Chunk chunk = chunkAt(row, col);
+        if (chunk == null) {
+            return 0;
+        }
+        long[] words;
+        if (plane == OCCUPIED) {
+            words = chunk.occupied;
+        } else if (plane < 0) {
+            words = chunk.genders[FIRST_GENDER - plane];
+        } else if (plane < chunk.species.length) {
+            words = chunk.species[plane];
+        } else {
+            words = null;
+        }
+        return words == null ? 0 : words[row & ROW_MASK];
+    }
+
+    /**
+     * A tile of the field: its cells and their occupancy planes,
+     * one word per row of the chunk.
+     */
+    private static class Chunk
+    {
+        // The actors, in row-major order within the chunk.
+        final Object[] cells = new Object[CHUNK_ROWS * CHUNK_COLS];
+
+        // The cells holding an actor.
+        final long[] occupied = new long[CHUNK_ROWS];
+
+        // The cells holding an actor of each gender.
+        final long[][] genders = new long[Gender.values().length][CHUNK_ROWS];
+
+        // The cells holding an actor of each species, by species id;
+        // a plane is created when the species first lands in the chunk.
+        long[][] species = new long[0][];
+
+        // The number of actors in the chunk.
+        int count;
+
+        /**
+         * Return the plane of a species, creating it if needed.
+         *
+         * @param id The species id.
+         * @return The plane of the species.
+         */
+        long[] speciesPlane(int id)
+        {
+            if (id >= species.length) {
+                species = Arrays.copyOf(species, id + 1);
+            }
+            if (species[id] == null) {
+                species[id] = new long[CHUNK_ROWS];
+            }
+            return species[id];
+        }
+
+        /**
+         * Remove all the actors from the chunk.
+         */
+        void empty()
+        {
+            Arrays.fill(cells, null);
+            Arrays.fill(occupied, 0);
+            for (long[] plane : genders) {
+                Arrays.fill(plane, 0);
+            }
+            for (long[] plane : species) {
+                if (plane != null) {
+                    Arrays.fill(plane, 0);
+                }
+            }
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,636 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Steps actors kept in columns of primitives, instead of as an object
+ * each. The actors of a species are stepped by the system for its kind
+ * of species (plants, animals that eat the first food they find, and
+ * predators) from the species' traits, over the columns. The actors are
+ * placed in the field as the class of their species, so the field, its
+ * neighbour queries and its population counts are as they would be for
+ * actor objects.
+ *
+ * The engine does what the actor objects do, in the same order and with
+ * the same random numbers, so a run gives the same populations as the
+ * actor objects stepped on the calling thread from the same seed. An
+ * actor's disease is kept in the columns as a number, and spreads and
+ * affects the actors as it would the actor objects.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class ColumnEngine
+{
+    // The random number generator shared with the rest of the simulation.
+    private static final Random rand = Randomizer.getRandom();
+
+    // The gender ordinals of the animals.
+    private static final int MALE = Gender.MALE.ordinal(), FEMALE = Gender.FEMALE.ordinal();
+
+    // The field the actors live in.
+    private final Field field;
+
+    // The width of the field.
+    private final int width;
+
+    // The state of the actors.
+    private final ActorColumns columns;
+
+    // The descriptor of each species, by ordinal.
+    private final SpeciesTraits[] traits;
+
+    // Whether each species has been given its id in the field, which is its ordinal.
+    private final boolean[] registered;
+
+    // The id of the actor in each cell, as row * width + column, or -1 if there is none.
+    private final int[] cellActors;
+
+    // The ids of the actors of each time of day, in the order they act in.
+    private final int[][] buckets;
+
+    // The number of actors in each bucket.
+    private final int[] bucketSizes;
+
+    // The newborns of the step.
+    private int[] newborns;
+
+    // The number of newborns of the step.
+    private int newbornCount;
+
+    // The Z-order code of the cell of each actor being sorted.
+    private long[] sortKeys;
+
+    // The permutation of the blocks of a bucket, for a permuted activation order.
+    private final Permutation permutation;
+
+    // The diseases of the actors; the number of a disease is its place in the list plus one.
+    private final List<Disease> diseases;
+
+    // The ids of the actors the field was populated with, in the order they were created in, each with its species in the high half.
+    private long[] founders;
+
+    // The number of actors the field was populated with.
+    private int founderCount;
+
+    /**
+     * Create an engine for the actors of a field, of the registered species.
+     *
+     * @param field The field.
+     */
+    public ColumnEngine(Field field)
+    {
+        if ((long) field.getDepth() * field.getWidth() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Field too large for actor columns: " + field.getDepth() + "x" + field.getWidth());
+        }
+        this.field = field;
+        width = field.getWidth();
+        columns = new ActorColumns();
+        traits = new SpeciesTraits[SpeciesRegistry.size()];
+        for (int kind = 0; kind < traits.length; kind++) {
+            traits[kind] = SpeciesRegistry.getTraits(kind);
+        }
+        registered = new boolean[traits.length];
+        cellActors = new int[field.getDepth() * width];
+        Arrays.fill(cellActors, -1);
+        buckets = new int[Time.values().length][0];
+        bucketSizes = new int[buckets.length];
+        newborns = new int[0];
+        sortKeys = new long[0];
+        permutation = new Permutation();
+        diseases = new ArrayList<>();
+        founders = new long[0];
+    }
+
+    /**
+     * Remove every actor. The field is cleared separately.
+     */
+    public void clear()
+    {
+        columns.clear();
+        Arrays.fill(cellActors, -1);
+        Arrays.fill(bucketSizes, 0);
+        newbornCount = 0;
+        diseases.clear();
+        founderCount = 0;
+    }
+
+    /**
+     * @return The columns holding the state of the actors.
+     */
+    public ActorColumns getColumns()
+    {
+        return columns;
+    }
+
+    /**
+     * Return the traits of a species the engine steps.
+     *
+     * @param species The class of the species.
+     * @return Its traits.
+     */
+    public SpeciesTraits getTraits(Class species)
+    {
+        return traits[SpeciesRegistry.ordinalOf(species)];
+    }
+
+    /**
+     * Create an actor of a species in a free cell, as its constructor
+     * would, and add it to the bucket of its time of day. It is one of
+     * those the field was populated with.
+     *
+     * @param species   The class of the species.
+     * @param location  The location of the cell.
+     * @param randomAge Whether the actor is given a random age and food level.
+     */
+    public void create(Class species, Location location, boolean randomAge)
+    {
+        int kind = SpeciesRegistry.ordinalOf(species);
+        int id = born(kind, location.getRow(), location.getCol(), randomAge);
+        int time = traits[kind].getActiveTime().ordinal();
+        buckets[time] = append(buckets[time], bucketSizes[time], id);
+        bucketSizes[time]++;
+
+        columns.setFounder(id);
+        if (founderCount == founders.length) {
+            founders = Arrays.copyOf(founders, Math.max(16, founderCount * 3 / 2));
+        }
+        founders[founderCount++] = (long) kind << 32 | id;
+    }
+
+    /**
+     * Give a disease to a share of the actors the field was populated
+     * with, of the kind it affects, at regular intervals of the order
+     * they were created in, as the simulator does for actor objects. An
+     * actor that has died since is affected all the same, as its object
+     * would be, which draws its random numbers and may mutate the disease.
+     *
+     * @param disease The disease.
+     * @param share   The share of the actors to give it to.
+     */
+    public void populateDisease(Disease disease, double share)
+    {
+        // The places in the founders of those of the kind the disease affects.
+        boolean animals = disease.getAffectedActor() == AffectedActor.ANIMAL;
+        int[] affected = new int[founderCount];
+        int size = 0;
+        for (int i = 0; i < founderCount; i++) {
+            if (traits[(int) (founders[i] >>> 32)].isAnimal() == animals) {
+                affected[size++] = i;
+            }
+        }
+
+        int numberToAffect = (int) (size * share);
+        if (numberToAffect == 0) {
+            // Too few actors of the kind for the share to reach any.
+            return;
+        }
+        int number = diseases.indexOf(disease) + 1;
+        if (number == 0) {
+            diseases.add(disease);
+            number = diseases.size();
+        }
+        int incrementValue = size / numberToAffect;
+        for (int i = 0; i < size; i = i + incrementValue) {
+            long founder = founders[affected[i]];
+            int id = (int) founder;
+            if (columns.isFounder(id)) {
+                infect(id, number);
+            } else {
+                disease.affect(traits[(int) (founder >>> 32)]);
+            }
+        }
+    }
+
+    /**
+     * Run a step of the actors active at a time of day. The living are
+     * sorted into Z-order if the sort is due, and act in the activation
+     * order; an actor due to die of old age or starvation dies at its
+     * turn. The dead are then swept out and the newborns added at the end.
+     *
+     * @param time         The time of day, whose clock has already been advanced.
+     * @param step         The number of the step.
+     * @param sortInterval The number of steps at the time of day between sorts, or 0 not to sort.
+     * @param order        The activation order.
+     * @param blockSize    The number of actors in each block of a permuted order.
+     * @param seed         The seed the activation order of each step is drawn from.
+     */
+    public void step(Time time, int step, int sortInterval, ActivationOrder order, int blockSize, long seed)
+    {
+        int bucket = time.ordinal();
+        int tick = field.getWheel(time).getTick();
+        if (sortInterval > 0 && tick % sortInterval == 0) {
+            sort(bucket);
+        }
+
+        newbornCount = 0;
+        actInOrder(bucket, tick, IntentBuffer.mix(seed + step), order, blockSize);
+
+        // Sweep out the dead, keeping the order of the living, and add the newborns, as the actor lists do.
+        int[] ids = buckets[bucket];
+        int size = 0;
+        for (int i = 0; i < bucketSizes[bucket]; i++) {
+            int id = ids[i];
+            if (columns.isAlive(id)) {
+                ids[size++] = id;
+            } else {
+                columns.release(id);
+            }
+        }
+        for (int i = 0; i < newbornCount; i++) {
+            ids = append(ids, size++, newborns[i]);
+        }
+        buckets[bucket] = ids;
+        bucketSizes[bucket] = size;
+    }
+
+    /**
+     * Let the actors of a bucket act once, in the activation order.
+     * An actor killed earlier in the step has nothing left to do.
+     *
+     * @param bucket    The bucket.
+     * @param tick      The tick of the bucket's time of day.
+     * @param stepSeed  The seed of the step's order.
+     * @param order     The activation order.
+     * @param blockSize The number of actors in each block of a permuted order.
+     */
+    private void actInOrder(int bucket, int tick, long stepSeed, ActivationOrder order, int blockSize)
+    {
+        int[] ids = buckets[bucket];
+        int size = bucketSizes[bucket];
+        if (order == ActivationOrder.PERMUTED) {
+            int blocks = (size + blockSize - 1) / blockSize;
+            permutation.reset(blocks, stepSeed);
+            for (int turn = 0; turn < blocks; turn++) {
+                int block = permutation.get(turn);
+                int from = block * blockSize;
+                int to = Math.min(size, from + blockSize);
+                boolean forwards = (IntentBuffer.mix(~stepSeed + block) & 1) == 0;
+                for (int i = from; i < to; i++) {
+                    int id = ids[forwards ? i : from + to - 1 - i];
+                    if (columns.isAlive(id)) {
+                        act(id, tick);
+                    }
+                }
+            }
+            return;
+        }
+
+        int start = 0;
+        if (order == ActivationOrder.ROTATED && size > 0) {
+            start = (int) Long.remainderUnsigned(stepSeed, size);
+        }
+        for (int turn = 0; turn < size; turn++) {
+            int i = start + turn < size ? start + turn : start + turn - size;
+            int id = ids[i];
+            if (columns.isAlive(id)) {
+                act(id, tick);
+            }
+        }
+    }
+
+    /**
+     * Sort the living actors of a bucket into Z-order of their cells,
+     * dropping the dead. No two living actors share a cell, so the
+     * order is the one the actor lists are sorted into, and the codes
+     * alone are sorted: each is turned back into its cell's actor.
+     *
+     * @param bucket The bucket.
+     */
+    private void sort(int bucket)
+    {
+        int[] ids = buckets[bucket];
+        int size = bucketSizes[bucket];
+        if (sortKeys.length < size) {
+            sortKeys = new long[Math.max(size, sortKeys.length * 3 / 2)];
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int id = ids[i];
+            if (columns.isAlive(id)) {
+                int cell = columns.getCell(id);
+                sortKeys[count++] = Morton.encode(cell / width, cell % width);
+            } else {
+                columns.release(id);
+            }
+        }
+        Arrays.sort(sortKeys, 0, count);
+        for (int i = 0; i < count; i++) {
+            long code = sortKeys[i];
+            ids[i] = cellActors[Morton.compact(code >>> 1) * width + Morton.compact(code)];
+        }
+        bucketSizes[bucket] = count;
+    }
+
+    /**
+     * Let an actor act, by the system for its kind of species. It is a
+     * step older, and dies at its turn if it is due to die of old age
+     * or starvation.
+     *
+     * @param id   The id of the actor.
+     * @param tick The tick of its time of day.
+     */
+    private void act(int id, int tick)
+    {
+        columns.setTurn(id, tick);
+        if (getDeathTick(id) <= tick) {
+            kill(id);
+            return;
+        }
+        SpeciesTraits species = traits[columns.getSpecies(id)];
+        if (!species.isAnimal()) {
+            giveBirth(id, species, tick);
+        } else if (species.isPredator()) {
+            actPredator(id, species, tick);
+        } else {
+            actForager(id, species, tick);
+        }
+    }
+
+    /**
+     * The system of the animals that eat the first food they find:
+     * mate, eat, then move to a free adjacent cell, or die of overcrowding.
+     */
+    private void actForager(int id, SpeciesTraits species, int tick)
+    {
+        mate(id, species, tick);
+        Location location = locationOf(id);
+        NeighbourCursor cursor = field.neighboursOfSpecies(location, species.getMovementArea(), species.getPreyMask(), 1);
+        if (cursor.next()) {
+            eat(id, species, tick, cursor.getLocation());
+        }
+        Location newLocation = field.freeAdjacentLocation(location, species.getMovementArea(), 1);
+        if (newLocation != null) {
+            moveTo(id, newLocation);
+        } else {
+            kill(id);
+        }
+    }
+
+    /**
+     * The system of the predators: mate, attack each adjacent prey with
+     * the attack probability until one is eaten and move to its cell, or
+     * else move to a free adjacent cell, or die of overcrowding.
+     */
+    private void actPredator(int id, SpeciesTraits species, int tick)
+    {
+        mate(id, species, tick);
+        Location location = locationOf(id);
+        Location newLocation = null;
+        NeighbourCursor cursor = field.neighboursOfSpecies(location, species.getMovementArea(), species.getPreyMask(), 1);
+        while (cursor.next()) {
+            if (rand.nextDouble() <= species.getAttackProbability()) {
+                newLocation = cursor.getLocation();
+                eat(id, species, tick, newLocation);
+                break;
+            }
+        }
+        if (newLocation == null) {
+            newLocation = field.freeAdjacentLocation(location, species.getMovementArea(), 1);
+        }
+        if (newLocation != null) {
+            moveTo(id, newLocation);
+        } else {
+            kill(id);
+        }
+    }
+
+    /**
+     * A male able to breed sets the first female nearby that can breed
+     * and is not already breeding to breed; any other animal gives birth
+     * if it is breeding.
+     */
+    private void mate(int id, SpeciesTraits species, int tick)
+    {
+        if (columns.getGender(id) == MALE && canBreed(id, species, tick)) {
+            NeighbourCursor cursor = field.neighboursOfSpecies(locationOf(id), species.getMovementArea(), species.getOrdinal(), Gender.FEMALE, species.getNoiseValue());
+            while (cursor.next()) {
+                int mate = cellActors[cursor.getRow() * width + cursor.getCol()];
+                if (canBreed(mate, species, tick) && !columns.isBreeding(mate)) {
+                    columns.setBreeding(mate, true);
+                    transferDisease(id, mate);
+                    break;
+                }
+            }
+        } else if (columns.isBreeding(id)) {
+            giveBirth(id, species, tick);
+            columns.setBreeding(id, false);
+        }
+    }
+
+    /**
+     * Give birth, with the breeding probability, to up to the max litter
+     * size of young in the free adjacent cells, which may be lowered by
+     * a mutated disease. The disease may spread to each of the young.
+     */
+    private void giveBirth(int id, SpeciesTraits species, int tick)
+    {
+        double breedingProbability = species.getBreedingProbability();
+        int maxLitterSize = species.getMaxLitterSize();
+        Disease disease = getDisease(id);
+        if (disease != null && disease.hasMutated()) {
+            if (disease.getMutationType() == Mutation.BREEDING_PROBABILITY) {
+                breedingProbability = disease.getNewBreedingProbability();
+            } else if (disease.getMutationType() == Mutation.MAX_LITTER_SIZE) {
+                maxLitterSize = disease.getNewMaxLitterSize();
+            }
+        }
+
+        int births = 0;
+        if (canBreed(id, species, tick) && rand.nextDouble() <= breedingProbability) {
+            births = rand.nextInt(maxLitterSize) + 1;
+        }
+        if (births == 0) {
+            return;
+        }
+
+        NeighbourCursor cursor = field.freeNeighbours(locationOf(id), species.getMovementArea(), 1);
+        while (births > 0 && cursor.next()) {
+            int young = born(columns.getSpecies(id), cursor.getRow(), cursor.getCol(), false);
+            newborns = append(newborns, newbornCount++, young);
+            transferDisease(id, young);
+            births--;
+        }
+    }
+
+    /**
+     * Eat the actor in a cell: an animal is killed, a plant loses one of
+     * its food value, and dies when it has none left. The eater's
+     * starvation is put off by its food value.
+     */
+    private void eat(int id, SpeciesTraits species, int tick, Location location)
+    {
+        int prey = cellActors[location.getRow() * width + location.getCol()];
+        if (traits[columns.getSpecies(prey)].isAnimal()) {
+            kill(prey);
+        } else {
+            int left = columns.getFood(prey) - 1;
+            columns.setFood(prey, left);
+            if (left <= 0) {
+                kill(prey);
+            }
+        }
+        columns.setFood(id, tick + species.getFoodValue());
+    }
+
+    /**
+     * Give an actor's disease to another with its spread probability.
+     */
+    private void transferDisease(int from, int to)
+    {
+        int number = columns.getDisease(from);
+        if (number != 0 && rand.nextDouble() <= diseases.get(number - 1).getSpreadProbability()) {
+            infect(to, number);
+        }
+    }
+
+    /**
+     * Give an actor a disease, which affects it at once and may
+     * terminate it.
+     */
+    private void infect(int id, int number)
+    {
+        columns.setDisease(id, number);
+        if (diseases.get(number - 1).affect(traits[columns.getSpecies(id)])) {
+            kill(id);
+        }
+    }
+
+    /**
+     * Return the disease of an actor, or null if it has none.
+     */
+    private Disease getDisease(int id)
+    {
+        int number = columns.getDisease(id);
+        return number == 0 ? null : diseases.get(number - 1);
+    }
+
+    /**
+     * Create an actor in a free cell, drawing its gender, age and food
+     * level as the constructor of its species does.
+     *
+     * @param kind      The ordinal of its species.
+     * @param row       The row of the cell.
+     * @param col       The column of the cell.
+     * @param randomAge Whether the actor is given a random age and food level.
+     * @return The id of the actor.
+     */
+    private int born(int kind, int row, int col, boolean randomAge)
+    {
+        SpeciesTraits species = traits[kind];
+        int gender;
+        if (species.isAnimal()) {
+            gender = rand.nextDouble() <= species.getFemaleChances() ? FEMALE : MALE;
+        } else {
+            gender = species.getGender().ordinal();
+        }
+        int tick = field.getWheel(species.getActiveTime()).getTick();
+        int birth = randomAge ? tick - rand.nextInt(species.getMaxAge()) : tick;
+
+        if (!registered[kind]) {
+            field.getSpeciesId(species.getSpecies());
+            registered[kind] = true;
+        }
+        field.placeSpecies(row, col, kind, gender);
+
+        int meal;
+        if (species.isAnimal()) {
+            int foodLevel = randomAge ? rand.nextInt(species.getFoodValue()) : species.getFoodValue();
+            meal = tick + Math.max(foodLevel, 1);
+        } else {
+            meal = species.getNutritionalValue();
+        }
+        int cell = row * width + col;
+        int id = columns.add(kind, gender, cell, birth, meal);
+        columns.setTurn(id, tick);
+        cellActors[cell] = id;
+        return id;
+    }
+
+    /**
+     * Move an actor to a free cell.
+     */
+    private void moveTo(int id, Location location)
+    {
+        int from = columns.getCell(id);
+        int kind = columns.getSpecies(id);
+        field.clearSpecies(from / width, from % width, kind, columns.getGender(id));
+        cellActors[from] = -1;
+        int to = location.getRow() * width + location.getCol();
+        field.placeSpecies(location.getRow(), location.getCol(), kind, columns.getGender(id));
+        cellActors[to] = id;
+        columns.setCell(id, to);
+    }
+
+    /**
+     * Set an actor dead and clear its cell. Its id is released when it
+     * is swept out of its bucket.
+     */
+    private void kill(int id)
+    {
+        int cell = columns.getCell(id);
+        field.clearSpecies(cell / width, cell % width, columns.getSpecies(id), columns.getGender(id));
+        cellActors[cell] = -1;
+        columns.setDead(id);
+    }
+
+    /**
+     * Return the tick at which an actor dies of old age, or of
+     * starvation if it is an animal, if nothing kills it first.
+     */
+    private int getDeathTick(int id)
+    {
+        SpeciesTraits species = traits[columns.getSpecies(id)];
+        int death = columns.getBirth(id) + species.getMaxAge() + 1;
+        if (species.isAnimal()) {
+            return Math.min(death, columns.getFood(id));
+        }
+        return death;
+    }
+
+    /**
+     * Return whether an actor has reached the breeding age of its species,
+     * or the later one of a disease mutated to raise it. Its age is
+     * counted up to its last turn, so an actor that has yet to take its
+     * turn in the step is a step younger.
+     */
+    private boolean canBreed(int id, SpeciesTraits species, int tick)
+    {
+        int age = tick - columns.getBirth(id);
+        if (!columns.hasTurned(id, tick)) {
+            age--;
+        }
+        Disease disease = getDisease(id);
+        if (disease != null && disease.hasMutated() && disease.getMutationType() == Mutation.BREEDING_AGE) {
+            return age >= disease.getNewBreedingAge();
+        }
+        return age >= species.getBreedingAge();
+    }
+
+    /**
+     * Return the location of an actor's cell.
+     */
+    private Location locationOf(int id)
+    {
+        int cell = columns.getCell(id);
+        return field.getLocation(cell / width, cell % width);
+    }
+
+    /**
+     * Put an id at a place in an array, making the array longer if it is full.
+     *
+     * @param ids   The array.
+     * @param place The place.
+     * @param id    The id.
+     * @return The array, or its longer copy.
+     */
+    private static int[] append(int[] ids, int place, int id)
+    {
+        if (place == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(16, place * 3 / 2));
+        }
+        ids[place] = id;
+        return ids;
+    }
+}
@@ -0,0 +1,116 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Dense field storage that several threads can move actors in at once.
+ * A cell is claimed by a compare-and-set of its slot from empty to the
+ * actor, and released by a compare-and-set from the actor back to empty,
+ * so two threads can never both take the same cell: the loser is told
+ * and can try another. The bit planes are updated with atomic word
+ * operations, and only by the thread holding the cell.
+ *
+ * While a cell is being released it holds a marker, so that it cannot
+ * be claimed again until its bits have been cleared. Readers see the
+ * marker as an empty cell.
+ *
+ * Only claim() and release() are safe to call from several threads;
+ * put(), remove() and clear() are for setting up the field from a
+ * single thread, as with the other storage.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class ConcurrentFieldStorage extends DenseFieldStorage
+{
+    // Atomic access to the cells.
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // The marker held by a cell while it is being released.
+    private static final Object RELEASING = new Object();
+
+    // The species planes, copied when a species is added so that
+    // threads can read them without locking.
+    private volatile BitPlane[] planes;
+
+    /**
+     * Create concurrent storage for a field of the given dimensions.
+     *
+     * @param depth      The depth of the field.
+     * @param width      The width of the field.
+     * @param groundPlan The ground plan of the field.
+     */
+    public ConcurrentFieldStorage(int depth, int width, GroundPlan groundPlan)
+    {
+        super(depth, width, groundPlan);
+        planes = new BitPlane[0];
+    }
+
+    @Override
+    public Object get(int row, int col)
+    {
+        Object actor = CELLS.getAcquire(cells, cellIndex(row, col));
+        return actor == RELEASING ? null : actor;
+    }
+
+    @Override
+    public boolean claim(int row, int col, Object actor, int species, int gender)
+    {
+        if (!CELLS.compareAndSet(cells, cellIndex(row, col), null, actor)) {
+            return false;
+        }
+        int index = index(row, col);
+        speciesPlane(species).setAtomic(index);
+        occupied.setAtomic(index);
+        if (gender >= 0) {
+            genderPlanes[gender].setAtomic(index);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean release(int row, int col, Object actor, int species, int gender)
+    {
+        int slot = cellIndex(row, col);
+        if (!CELLS.compareAndSet(cells, slot, actor, RELEASING)) {
+            return false;
+        }
+        int index = index(row, col);
+        speciesPlane(species).clearAtomic(index);
+        occupied.clearAtomic(index);
+        if (gender >= 0) {
+            genderPlanes[gender].clearAtomic(index);
+        }
+        CELLS.setRelease(cells, slot, null);
+        return true;
+    }
+
+    @Override
+    protected BitPlane speciesPlane(int species)
+    {
+        BitPlane[] current = planes;
+        if (species < current.length) {
+            return current[species];
+        }
+        return addSpeciesPlane(species);
+    }
+
+    /**
+     * Create the plane of a species, when the first actor
+     * of the species is placed.
+     *
+     * @param species The species id.
+     * @return The plane of the species.
+     */
+    private synchronized BitPlane addSpeciesPlane(int species)
+    {
+        BitPlane plane = super.speciesPlane(species);
+        planes = speciesPlanes.toArray(new BitPlane[0]);
+        return plane;
+    }
+
+    @Override
+    public boolean isConcurrent()
+    {
+        return true;
+    }
+}
@@ -49,6 +49,23 @@ public class Counter
         count++;
     }
     
+    /**
+     * Decrement the current count by one.
+     */
+    public void decrement()
+    {
+        count--;
+    }
+    
+    /**
+     * Set the current count, after counting the participants afresh.
+     * @param count The number of participants of this type.
+     */
+    public void setCount(int count)
+    {
+        this.count = count;
+    }
+
     /**
      * Reset the current count to zero.
      */
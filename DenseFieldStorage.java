@@ -0,0 +1,226 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Field storage holding every cell in a single flat array in
+ * row-major order, so a cell is addressed by its index
+ * (row * width + col). The movement areas are compiled into
+ * bit planes, so checking a cell is a single bit test.
+ * Suited to fields whose cells fit comfortably in memory.
+ * Subclasses may store the cells in another order by
+ * overriding cellIndex(); the bit planes stay row-major.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class DenseFieldStorage extends FieldStorage
+{
+    // Storage for the actors, one slot per cell, in the order given by cellIndex().
+    protected final Object[] cells;
+
+    // The cells within each movement area, indexed by the area's ordinal.
+    private final BitPlane[] areaMasks;
+
+    // The occupancy bit plane of each species, indexed by species id.
+    protected final ArrayList<BitPlane> speciesPlanes;
+
+    // The occupancy bit plane of each gender, indexed by the gender's ordinal.
+    protected final BitPlane[] genderPlanes;
+
+    // The cells holding an actor of any species.
+    protected final BitPlane occupied;
+
+    /**
+     * Create dense storage for a field of the given dimensions.
+     *
+     * @param depth      The depth of the field.
+     * @param width      The width of the field.
+     * @param groundPlan The ground plan of the field.
+     */
+    public DenseFieldStorage(int depth, int width, GroundPlan groundPlan)
+    {
+        this(depth, width, groundPlan, depth * width);
+    }
+
+    /**
+     * Create dense storage with a given number of slots for the cells,
+     * for subclasses whose cell order needs some padding.
+     *
+     * @param depth      The depth of the field.
+     * @param width      The width of the field.
+     * @param groundPlan The ground plan of the field.
+     * @param cellSlots  The number of slots in the cell array.
+     */
+    protected DenseFieldStorage(int depth, int width, GroundPlan groundPlan, int cellSlots)
+    {
+        super(depth, width, groundPlan);
+        cells = new Object[cellSlots];
+        int size = depth * width;
+
+        MovementArea[] areas = MovementArea.values();
+        areaMasks = new BitPlane[areas.length];
+        for (MovementArea area : areas) {
+            areaMasks[area.ordinal()] = compileArea(area);
+        }
+
+        speciesPlanes = new ArrayList<>();
+        occupied = new BitPlane(size);
+        genderPlanes = new BitPlane[Gender.values().length];
+        for (int gender = 0; gender < genderPlanes.length; gender++) {
+            genderPlanes[gender] = new BitPlane(size);
+        }
+    }
+
+    /**
+     * Compile the bounds of a movement area into a bit plane
+     * holding one bit per cell of the field.
+     *
+     * @param area The movement area to compile.
+     * @return A bit plane with the bits of the cells within the area set.
+     */
+    private BitPlane compileArea(MovementArea area)
+    {
+        BitPlane mask = new BitPlane(depth * width);
+        for (int row = 0; row < depth; row++) {
+            for (int col = 0; col < width; col++) {
+                if (boundsContain(area, row, col)) {
+                    mask.set(index(row, col));
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Return the row-major index of a cell, which addresses its bits.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The index of the cell.
+     */
+    protected int index(int row, int col)
+    {
+        return row * width + col;
+    }
+
+    /**
+     * Return the slot of a cell in the cell array.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The slot of the cell.
+     */
+    protected int cellIndex(int row, int col)
+    {
+        return row * width + col;
+    }
+
+    @Override
+    public Object get(int row, int col)
+    {
+        return cells[cellIndex(row, col)];
+    }
+
+    @Override
+    public int speciesAt(int row, int col)
+    {
+        int index = index(row, col);
+        for (int species = 0; species < speciesPlanes.size(); species++) {
+            if (speciesPlanes.get(species).get(index)) {
+                return species;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void put(int row, int col, Object actor, int species, int gender)
+    {
+        int index = index(row, col);
+        cells[cellIndex(row, col)] = actor;
+        speciesPlane(species).set(index);
+        occupied.set(index);
+        if (gender >= 0) {
+            genderPlanes[gender].set(index);
+        }
+    }
+
+    /**
+     * Return the occupancy plane of a species, creating it
+     * when the first actor of the species is placed.
+     *
+     * @param species The species id.
+     * @return The plane of the species.
+     */
+    protected BitPlane speciesPlane(int species)
+    {
+        while (speciesPlanes.size() <= species) {
+            speciesPlanes.add(new BitPlane(depth * width));
+        }
+        return speciesPlanes.get(species);
+    }
+
+    @Override
+    public void remove(int row, int col, int species, int gender)
+    {
+        int index = index(row, col);
+        cells[cellIndex(row, col)] = null;
+        speciesPlanes.get(species).clear(index);
+        occupied.clear(index);
+        if (gender >= 0) {
+            genderPlanes[gender].clear(index);
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(cells, null);
+        for (BitPlane plane : speciesPlanes) {
+            plane.clearAll();
+        }
+        for (BitPlane plane : genderPlanes) {
+            plane.clearAll();
+        }
+        occupied.clearAll();
+    }
+
+    @Override
+    public boolean isRowPartitionable()
+    {
+        return true;
+    }
+
+    @Override
+    public boolean isWithinArea(MovementArea area, int row, int col)
+    {
+        return areaMasks[area.ordinal()].get(index(row, col));
+    }
+
+    @Override
+    public long areaBits(MovementArea area, int row, int col)
+    {
+        return areaMasks[area.ordinal()].getBits(index(row, col));
+    }
+
+    @Override
+    public long occupiedBits(int row, int col)
+    {
+        return occupied.getBits(index(row, col));
+    }
+
+    @Override
+    public long speciesBits(int species, int row, int col)
+    {
+        if (species >= speciesPlanes.size()) {
+            return 0;
+        }
+        return speciesPlanes.get(species).getBits(index(row, col));
+    }
+
+    @Override
+    public long genderBits(int gender, int row, int col)
+    {
+        return genderPlanes[gender].getBits(index(row, col));
+    }
+}
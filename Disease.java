@@ -28,6 +28,9 @@ public class Disease
     // The actor that is affected by the disease.
     private Actor actor;
 
+    // The species of the actor last affected by the disease, if it is kept without an object.
+    private SpeciesTraits species;
+
     // Whether the disease has mutated.
     private boolean hasMutated;
 
@@ -61,9 +64,67 @@ public class Disease
     public void affect()
     {
         assert actor != null;
-        if (rand.nextDouble() <= strengthOfDisease) {
+        affect(actor);
+    }
+
+    /**
+     * The affect of the disease on an actor, which becomes the actor
+     * affected by the disease. This involves terminating the actor or
+     * possibly mutating.
+     *
+     * @param actor The actor.
+     */
+    public void affect(Actor actor)
+    {
+        if (strikes(actor, null)) {
             actor.setDead();
-        } else if (rand.nextDouble() <= mutationProbability) {
+        }
+    }
+
+    /**
+     * The affect of the disease on an actor of a species that is kept
+     * without an object, with the same random numbers as affect().
+     *
+     * @param species The species of the actor.
+     * @return Whether the actor is terminated.
+     */
+    public boolean affect(SpeciesTraits species)
+    {
+        return strikes(null, species);
+    }
+
+    /**
+     * Whether the disease terminates the actor it affects; if not, it may
+     * mutate. A disease may be carried by actors in several stripes of a
+     * parallel step, so there the disease takes note of the actor, and
+     * mutates, only at the end of the step. Until then the actors of
+     * every stripe see it as it was when the step began.
+     *
+     * @param actor   The actor affected, or null if it is kept without an object.
+     * @param species The species of an actor kept without an object.
+     * @return Whether the actor is terminated.
+     */
+    private boolean strikes(Actor actor, SpeciesTraits species)
+    {
+        boolean strikes = rand.nextDouble() <= strengthOfDisease;
+        boolean mutates = !strikes && rand.nextDouble() <= mutationProbability;
+        Thread thread = Thread.currentThread();
+        if (thread instanceof StepWorker) {
+            ((StepWorker) thread).defer(() -> takeNote(actor, species, mutates));
+        } else {
+            takeNote(actor, species, mutates);
+        }
+        return strikes;
+    }
+
+    /**
+     * Take note of the actor the disease last affected, and whether the disease mutated.
+     */
+    private void takeNote(Actor actor, SpeciesTraits species, boolean mutates)
+    {
+        this.actor = actor;
+        this.species = species;
+        if (mutates) {
             hasMutated = true;
         }
     }
@@ -101,7 +162,7 @@ public class Disease
     /**
      * Retrieves the actor, that is affected by the disease.
      *
-     * @return The actor that is affected by the disease.
+     * @return The actor that is affected by the disease, or null if it is kept without an object.
      */
     public Actor getActor()
     {
@@ -136,8 +197,8 @@ public class Disease
      */
     public double getNewBreedingProbability()
     {
-        assert actor != null;
-        double currentBreedingProbability = actor.getBreedingProbability();
+        assert actor != null || species != null;
+        double currentBreedingProbability = actor != null ? actor.getBreedingProbability() : species.getBreedingProbability();
         double newBreedingProbability = currentBreedingProbability * (1 - strengthOfDisease);
         return newBreedingProbability;
     }
@@ -150,8 +211,8 @@ public class Disease
      */
     public int getNewMaxLitterSize()
     {
-        assert actor != null;
-        int currentLitterSize = actor.getLitterSize();
+        assert actor != null || species != null;
+        int currentLitterSize = actor != null ? actor.getLitterSize() : species.getMaxLitterSize();
         if (currentLitterSize <= 1) {
             return currentLitterSize;
         }
@@ -166,8 +227,8 @@ public class Disease
      */
     public int getNewBreedingAge()
     {
-        assert actor != null;
-        int currentBreedingAge = actor.getBreedingAge();
+        assert actor != null || species != null;
+        int currentBreedingAge = actor != null ? actor.getBreedingAge() : species.getBreedingAge();
         return currentBreedingAge + 2;
     }
 }
\ No newline at end of file
@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
@@ -51,6 +49,10 @@ public class Eagle extends Animal implements Predator
     // The Eagle's active hours, represented as an Enum Time.
     private static final Time activeTime = Time.DAY;
 
+    // The descriptor of the Eagle, shared by every Eagle.
+    private static final SpeciesTraits traits = SpeciesTraits.predator(Eagle.class, activeTime, movementArea, femaleChances, foodValue, noiseValue, preysOn,
+            attackProbability, maxAge, breedingAge, breedingProbability, maxLitterSize);
+
     /**
      * Constructor for the Eagle object.
      * The Eagle object can have an age that is randomly defined or set at 0.
@@ -61,17 +63,27 @@ public class Eagle extends Animal implements Predator
      */
     public Eagle(Field field, Location location, boolean randomAge)
     {
-        super(field, location, randomAge, femaleChances, foodValue, maxAge, breedingAge, breedingProbability, maxLitterSize);
+        super(field, location, randomAge, traits);
+    }
+
+    /**
+     * Retrieves the movement area of the Eagle.
+     *
+     * @return The movement area of the Eagle.
+     */
+    public static MovementArea getMovementArea()
+    {
+        return movementArea;
     }
 
     /**
-     * Retrieves the Bounds of the Eagle.
+     * Retrieves the descriptor of the Eagle, shared by every Eagle.
      *
-     * @return The bounds of the Eagle.
+     * @return The descriptor of the Eagle.
      */
-    public static ArrayList<Bound> getBounds()
+    public static SpeciesTraits getTraits()
     {
-        return movementArea.getBounds();
+        return traits;
     }
 
     /**
@@ -81,21 +93,18 @@ public class Eagle extends Animal implements Predator
     {
         if (TimeOfDay.getInstance().getTime() == activeTime) {
             // Checks whether the animal is active at the current time.
-            incrementAge();
-            incrementHunger();
-            // Increments age and hunger.
-            if (isAlive()) {
-                mate(newActors, this.getClass(), getBounds(), noiseValue);
+            if (takeTurn()) {
+                mate(newActors, movementArea, noiseValue);
                 // Move towards food.
                 Location newLocation = findPrey();
 
                 if (newLocation == null) {
                     // No food found - try to move to a free location.
-                    newLocation = getField().freeAdjacentLocation(getLocation(), movementArea.getBounds(), 1);
+                    newLocation = getField().freeAdjacentLocation(getLocation(), movementArea, 1);
                 }
                 // See if it was possible to move.
                 if (newLocation != null) {
-                    setLocation(newLocation);
+                    moveTo(newLocation, movementArea);
                 } else {
                     // Overcrowding.
                     setDamage();
@@ -115,14 +124,13 @@ public class Eagle extends Animal implements Predator
     {
         Field field = getField();
 
-        // Get a list of locations of the prey.
-        List<Location> adjacent = field.adjacentLocations(getLocation(), movementArea.getBounds(), preysOn, 1);
-        Iterator<Location> it = adjacent.iterator();
+        // Visit the adjacent prey.
+        NeighbourCursor cursor = field.neighboursOfSpecies(getLocation(), movementArea, traits.getPreyMask(), 1);
 
-        while (it.hasNext()) {
-            Location where = it.next();
+        while (cursor.next()) {
             if (rand.nextDouble() <= getAttackProbability()) {
                 // If the attack probability is high enough, eat the animal.
+                Location where = cursor.getLocation();
                 eat(field, where);
                 // Return the location.
                 return where;
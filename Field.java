@@ -1,25 +1,48 @@
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 /**
  * Represent a rectangular grid of field positions.
  * Each position is able to store a single actor.
+ * The cells are held by a FieldStorage, chosen by the field's
+ * layout: a flat row-major array for ordinary fields, or lazily
+ * allocated chunks for huge, mostly empty worlds, or an off-heap
+ * array for large dense worlds.
  * Field class can retrieve locations based on
  * specific parameters such as actor gender and Prey.
  * Implements check to ensure actors are returned locations
- * within their allocated bounds.
+ * within their allocated bounds. The bounds of every movement
+ * area are compiled when the field is created, so checking a
+ * cell is cheap. The field also keeps
+ * an occupancy bit plane for every species and gender, updated as
+ * actors are placed and cleared, so looking for prey or a mate
+ * tests a whole run of cells with a few word-wide operations.
+ * A plane of all the occupied cells serves as the free-cell index,
+ * used to place young and to move without visiting occupied cells.
+ * A field can also run a synchronous step, in which the moves, births
+ * and deaths of the actors are held in a buffer and applied together
+ * at the end of the step, so every actor sees the field as it was when
+ * the step began.
+ * A field can be stepped by several threads at once, either over
+ * concurrent storage or in stripes of rows far enough apart; each
+ * thread then queries it through a cursor of its own.
  *
  * @author David J. Barnes, Michael Kölling, Lavish K. Kumar
  * @version 2022.02.25
  */
 public class Field
 {
-    // A random number generator for providing random locations.
+    // The number of cells drawn at random when looking for a free cell
+    // in an area, before falling back to a scan of the area.
+    private static final int SAMPLE_ATTEMPTS = 32;
+
+    // The species id used by addMatches() to match the free cells.
+    private static final int FREE = -1;
+
+    // A random number generator for sampling free cells.
     private static final Random rand = Randomizer.getRandom();
 
     // The depth of the field
@@ -28,22 +51,152 @@ public class Field
     // The width of the field
     private final int width;
 
-    // Storage for the animals.
-    private final Object[][] field;
+    // The storage for the actors and their occupancy planes.
+    private final FieldStorage storage;
+
+    // The cursor handed out for adjacency queries.
+    private final NeighbourCursor cursor;
+
+    // The cursor of each thread, when several threads step the field.
+    private final ThreadLocal<NeighbourCursor> threadCursors;
+
+    // Whether several threads step the field, so each needs its own cursor.
+    private boolean parallel;
+
+    // The canonical location of each cell.
+    private final LocationTable locations;
+
+    // The ground plan (map) of the field.
+    private final GroundPlan groundPlan;
+
+    // The id of each species (class of actor) placed so far, which
+    // selects its occupancy plane in the storage. A registered species'
+    // id is its ordinal; other classes are given ids after those. The
+    // map is replaced by a copy when a species is added, so it can be
+    // read without locking.
+    private volatile HashMap<Class, Integer> speciesIds;
+
+    // The class of each species, indexed by species id, or null for an id not given yet.
+    private final ArrayList<Class> speciesClasses;
+
+    // The population counter of each species, indexed by species id, or null
+    // for an id not given yet; replaced by a copy when a species is added.
+    private volatile Counter[] counters;
+
+    // The number of actors of each species (class of actor) in the field.
+    private final HashMap<Class, Counter> population;
+
+    // The moves, births and deaths of the current synchronous step.
+    private final IntentBuffer intents;
+
+    // The number of the current synchronous step, or -1 outside one.
+    private int synchronousStep;
+
+    // Whether the actors of the current synchronous step are deciding, so their meals are held back.
+    private boolean deciding;
+
+    // The meals of the current synchronous step: each eater, moving to the cell of its prey.
+    private final IntentBuffer meals;
+
+    // The id to give the next actor created in the field.
+    private long nextActorId;
+
+    // The events of the actors active at each time of day, turned once for each step at that time.
+    private final TimingWheel[] wheels;
+
+    // The pool the newborns of the field are taken from, or null to make them afresh.
+    private ActorPool pool;
 
     /**
      * Represent a field of the given dimensions.
+     * The layout is chosen from the size of the field.
      *
      * @param depth The depth of the field.
      * @param width The width of the field.
      */
     public Field(int depth, int width)
     {
+        this(depth, width, FieldLayout.forSize(depth, width));
+    }
 
+    /**
+     * Represent a field of the given dimensions and layout.
+     *
+     * @param depth  The depth of the field.
+     * @param width  The width of the field.
+     * @param layout The layout of the field's storage.
+     */
+    public Field(int depth, int width, FieldLayout layout)
+    {
         this.depth = depth;
         this.width = width;
 
-        field = new Object[depth][width];
+        groundPlan = new GroundPlan(depth, width);
+        storage = layout.createStorage(depth, width, groundPlan);
+        cursor = new NeighbourCursor(this);
+        threadCursors = ThreadLocal.withInitial(() -> new NeighbourCursor(this));
+        parallel = storage.isConcurrent();
+        locations = new LocationTable(depth, width);
+
+        speciesIds = new HashMap<>();
+        speciesClasses = new ArrayList<>();
+        counters = new Counter[0];
+        population = new HashMap<>();
+        intents = new IntentBuffer();
+        synchronousStep = -1;
+        meals = new IntentBuffer();
+        nextActorId = 0;
+        wheels = new TimingWheel[Time.values().length];
+        for (int time = 0; time < wheels.length; time++) {
+            wheels[time] = new TimingWheel();
+        }
+    }
+
+    /**
+     * Checks whether a cell is within a movement area.
+     *
+     * @param area The movement area.
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @return true if the cell is within the area, false otherwise.
+     */
+    public boolean isWithinArea(MovementArea area, int row, int col)
+    {
+        return storage.isWithinArea(area, row, col);
+    }
+
+    /**
+     * Return the location of a cell. Locations are immutable and
+     * there is one per cell, created the first time it is asked for,
+     * so this does not allocate once the field has been explored.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The location of the cell.
+     */
+    public Location getLocation(int row, int col)
+    {
+        return locations.get(row, col);
+    }
+
+    /**
+     * Return the storage holding the cells of the field.
+     *
+     * @return The storage of the field.
+     */
+    public FieldStorage getStorage()
+    {
+        return storage;
+    }
+
+    /**
+     * Return the ground plan (map) of the field.
+     *
+     * @return The ground plan of the field.
+     */
+    public GroundPlan getGroundPlan()
+    {
+        return groundPlan;
     }
 
     /**
@@ -51,11 +204,52 @@ public class Field
      */
     public void clear()
     {
-        for (int row = 0; row < depth; row++) {
-            for (int col = 0; col < width; col++) {
-                field[row][col] = null;
+        storage.clear();
+        intents.clear();
+        synchronousStep = -1;
+        deciding = false;
+        meals.clear();
+        nextActorId = 0;
+        for (Counter count : counters) {
+            if (count != null) {
+                count.reset();
             }
         }
+        for (TimingWheel wheel : wheels) {
+            wheel.clear();
+        }
+    }
+
+    /**
+     * Return the wheel holding the timed events, such as deaths of old
+     * age and starvation, of the actors active at a time of day. Its
+     * tick is the number of steps taken at that time.
+     *
+     * @param time The time of day.
+     * @return The wheel of the time of day.
+     */
+    public TimingWheel getWheel(Time time)
+    {
+        return wheels[time.ordinal()];
+    }
+
+    /**
+     * Set the pool of dead actors the newborns of the field are taken
+     * from. It is only used by actors stepped on one thread.
+     *
+     * @param pool The pool, or null to make the newborns afresh.
+     */
+    public void setPool(ActorPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * @return The pool the newborns of the field are taken from, or null if they are made afresh.
+     */
+    public ActorPool getPool()
+    {
+        return pool;
     }
 
     /**
@@ -67,10 +261,13 @@ public class Field
      * @param location The location from which to generate an adjacency.
      * @return A valid location within the defined bounds.
      */
-    public Location randomAdjacentLocation(Location location, ArrayList<Bound> bounds, int searchDistance)
+    public Location randomAdjacentLocation(Location location, MovementArea area, int searchDistance)
     {
-        List<Location> adjacent = adjacentLocations(location, bounds, searchDistance);
-        return adjacent.get(0);
+        NeighbourCursor cursor = neighbours(location, area, searchDistance);
+        if (cursor.next()) {
+            return cursor.getLocation();
+        }
+        return null;
     }
 
     /**
@@ -79,18 +276,14 @@ public class Field
      * @param location Get locations adjacent to this.
      * @return A list of free adjacent locations.
      */
-    public List<Location> getFreeAdjacentLocations(Location location, ArrayList<Bound> bounds, int searchDistance)
+    public List<Location> getFreeAdjacentLocations(Location location, MovementArea area, int searchDistance)
     {
         // The list to be returned.
-        List<Location> free = new LinkedList<>();
+        List<Location> free = new ArrayList<>();
 
-        // All the locations.
-        List<Location> adjacent = adjacentLocations(location, bounds, searchDistance);
-
-        for (Location next : adjacent) {
-            if (getObjectAt(next) == null) {
-                free.add(next);
-            }
+        NeighbourCursor cursor = freeNeighbours(location, area, searchDistance);
+        while (cursor.next()) {
+            free.add(cursor.getLocation());
         }
         return free;
     }
@@ -99,20 +292,121 @@ public class Field
      * Try to find a free location that is adjacent to the
      * given location. If there is none, return null.
      * The returned location will be within the valid defined bounds.
+     * A full neighbourhood is detected from the free-cell index
+     * without visiting its cells or drawing a random number.
      *
      * @param location The location from which to generate an adjacency.
      * @return A valid location within the grid area.
      */
-    public Location freeAdjacentLocation(Location location, ArrayList<Bound> bounds, int searchDistance)
+    public Location freeAdjacentLocation(Location location, MovementArea area, int searchDistance)
     {
-        // The available free locations.
-        List<Location> free = getFreeAdjacentLocations(location, bounds, searchDistance);
+        NeighbourCursor cursor = freeNeighbours(location, area, searchDistance);
+        if (cursor.next()) {
+            return cursor.getLocation();
+        }
+        return null;
+    }
 
-        if (free.size() > 0) {
-            return free.get(0);
-        } else {
+    /**
+     * Return a random free location within a movement area,
+     * or null if the area is full. Every free cell of the area is
+     * equally likely. Random cells are tried first, which takes a few
+     * draws unless the area is nearly full; after that the free cells
+     * are counted from the bit planes, and one is picked by its rank.
+     *
+     * @param area The movement area to search within.
+     * @return A free location within the area, or null if there is none.
+     */
+    public Location randomFreeLocation(MovementArea area)
+    {
+        for (int attempt = 0; attempt < SAMPLE_ATTEMPTS; attempt++) {
+            int row = rand.nextInt(depth);
+            int col = rand.nextInt(width);
+            if (storage.isWithinArea(area, row, col) && storage.get(row, col) == null) {
+                return getLocation(row, col);
+            }
+        }
+
+        long count = 0;
+        for (int row = 0; row < depth; row++) {
+            for (int col = 0; col < width; col += 64) {
+                count += Long.bitCount(freeBits(area, row, col));
+            }
+        }
+        if (count == 0) {
             return null;
         }
+
+        // Select the free cell of the drawn rank, 64 cells at a time.
+        long rank = rand.nextLong(count);
+        for (int row = 0; row < depth; row++) {
+            for (int col = 0; col < width; col += 64) {
+                long free = freeBits(area, row, col);
+                int inWord = Long.bitCount(free);
+                if (rank < inWord) {
+                    for (; rank > 0; rank--) {
+                        free &= free - 1;
+                    }
+                    return getLocation(row, col + Long.numberOfTrailingZeros(free));
+                }
+                rank -= inWord;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the free cells of a movement area among 64 cells of a row,
+     * one bit each, starting from a column.
+     *
+     * @param area The movement area.
+     * @param row  The row.
+     * @param col  The first column.
+     * @return The bits of the free cells within the area.
+     */
+    private long freeBits(MovementArea area, int row, int col)
+    {
+        long free = ~storage.occupiedBits(row, col) & storage.areaBits(area, row, col);
+        if (width - col < 64) {
+            free &= (1L << (width - col)) - 1;
+        }
+        return free;
+    }
+
+    /**
+     * Start a walk, in a random order, over the free cells adjacent
+     * to the given location. The cells are found from the occupancy
+     * plane, so a full neighbourhood is known to be empty without
+     * visiting any of its cells.
+     * The returned cursor is shared by all the queries on this field.
+     *
+     * @param location       The location from which to search.
+     * @param area           The movement area to search within.
+     * @param searchDistance The distance to search within the field.
+     * @return A cursor over the free adjacent cells.
+     */
+    public NeighbourCursor freeNeighbours(Location location, MovementArea area, int searchDistance)
+    {
+        NeighbourCursor cursor = getCursor().resetMatches();
+        addMatches(cursor, location, area, FREE, -1, searchDistance);
+        return cursor;
+    }
+
+    /**
+     * Start a walk over the cells adjacent to the given location,
+     * in a random order. The location itself is not visited and all
+     * the visited cells lie within the given movement area.
+     * The returned cursor is shared by all the queries on this field,
+     * so it must be finished with before the next query is made.
+     *
+     * @param location       The location from which to visit adjacencies.
+     * @param area           The movement area of the actor.
+     * @param searchDistance The distance within the field to search, relative to the given location.
+     * @return A cursor over the adjacent cells.
+     */
+    public NeighbourCursor neighbours(Location location, MovementArea area, int searchDistance)
+    {
+        return getCursor().reset(location, area, searchDistance);
     }
 
     /**
@@ -123,44 +417,17 @@ public class Field
      * @param location The location from which to generate adjacencies.
      * @return A list of locations adjacent to that given.
      */
-    public List<Location> adjacentLocations(Location location, ArrayList<Bound> bounds, int searchDistance)
+    public List<Location> adjacentLocations(Location location, MovementArea area, int searchDistance)
     {
         assert location != null : "Null location passed to adjacentLocations";
-        // The list of all locations.
-        List<Location> allLocations = new LinkedList<>();
-
         // The list of locations to be returned.
-        List<Location> locations = new LinkedList<>();
+        List<Location> locations = new ArrayList<>();
 
         if (location != null) {
-
-            int row = location.getRow();
-            int col = location.getCol();
-
-            for (int roffset = (-1 * searchDistance); roffset <= (1 * searchDistance); roffset++) {
-
-                int nextRow = row + roffset;
-
-                if (nextRow >= 0 && nextRow < depth) {
-                    for (int coffset = (-1 * searchDistance); coffset <= (1 * searchDistance); coffset++) {
-                        int nextCol = col + coffset;
-                        // Exclude invalid locations and the original location.
-                        if (nextCol >= 0 && nextCol < width && (roffset != 0 || coffset != 0)) {
-                            allLocations.add(new Location(nextRow, nextCol));
-                        }
-                    }
-                }
+            NeighbourCursor cursor = neighbours(location, area, searchDistance);
+            while (cursor.next()) {
+                locations.add(cursor.getLocation());
             }
-
-            //Filter through the locations, to exclude those not within the predefined bounds.
-            locations = allLocations.stream()
-                    .filter(location1 -> Bound.isWithinBound(location1, bounds))
-                    .collect(Collectors.toList());
-
-
-            // Shuffle the list. Several other methods rely on the list
-            // being in a random order.
-            Collections.shuffle(locations, rand);
         }
         return locations;
     }
@@ -171,28 +438,18 @@ public class Field
      * within a specified search distance.
      *
      * @param location       The location, from which to retreive adjacent locations.
-     * @param bounds         The predefined bounds for the actor.
+     * @param area           The movement area of the actor.
      * @param interestedIn   The class, the actor is interested in.
      * @param searchDistance The distance within the field to search, relative to the given location.
      * @return A list of adjacent locations, within a bound, with the specified actor.
      */
-    public List<Location> adjacentLocations(Location location, ArrayList<Bound> bounds, Class[] interestedIn, int searchDistance)
+    public List<Location> adjacentLocations(Location location, MovementArea area, Class[] interestedIn, int searchDistance)
     {
-
-        // Get a list of adjacent locations.
-        List<Location> adjacent = adjacentLocations(location, bounds, searchDistance);
         List<Location> adjacentWithInterestedEntity = new ArrayList<>();
 
-        Iterator<Location> it = adjacent.iterator();
-
-        while (it.hasNext()) {
-            Location nextLocation = it.next();
-            for (int i = 0; i < interestedIn.length; i++) {
-                if (interestedIn[i].isInstance(getObjectAt(nextLocation))) {
-                    // If the actor is an instance of the desired class add it to the list.
-                    adjacentWithInterestedEntity.add(nextLocation);
-                }
-            }
+        NeighbourCursor cursor = neighboursOfSpecies(location, area, interestedIn, searchDistance);
+        while (cursor.next()) {
+            adjacentWithInterestedEntity.add(cursor.getLocation());
         }
 
         return adjacentWithInterestedEntity;
@@ -204,28 +461,546 @@ public class Field
      * and gender.
      *
      * @param location       The location to retreive adjacent locations from.
-     * @param bounds         The bounds to search within.
+     * @param area           The movement area to search within.
      * @param actorSpecies   The species of actor to be searched for.
      * @param gender         The gender of the required actors.
      * @param searchDistance The distance to search within the field.
      * @return A list of adjacent locations, with the specified gender and actors.
      */
-    public List<Location> adjacentLocationOfGender(Location location, ArrayList<Bound> bounds, Class actorSpecies, Gender gender, int searchDistance)
+    public List<Location> adjacentLocationOfGender(Location location, MovementArea area, Class actorSpecies, Gender gender, int searchDistance)
     {
-        // Get a list of adjacent locations with actors of a certain class.
-        List<Location> adjacentWithSameActors = adjacentLocations(location, bounds, new Class[]{actorSpecies}, searchDistance);
+        List<Location> adjacentRequiredActors = new ArrayList<>();
 
-        // Filter through the above list to retrieve the locations of actors of a certain gender.
-        List<Location> adjacentRequiredActors = adjacentWithSameActors.stream()
-                .map(loc -> getObjectAt(loc))
-                .filter(obj -> obj != null)
-                .filter(actor -> ((Actor) actor).getGender() == gender)
-                .map(requiredActor -> (((Actor) requiredActor).getLocation()))
-                .collect(Collectors.toList());
+        NeighbourCursor cursor = neighboursOfSpecies(location, area, actorSpecies, gender, searchDistance);
+        while (cursor.next()) {
+            adjacentRequiredActors.add(((Actor) cursor.getObject()).getLocation());
+        }
 
         return adjacentRequiredActors;
     }
 
+    /**
+     * Start a walk, in a random order, over the adjacent cells holding
+     * an actor of one of the given species. The cells are found from the
+     * species bit planes, so only the occupied cells are visited.
+     * Species are matched on the exact class of the actor.
+     * The returned cursor is shared by all the queries on this field.
+     *
+     * @param location       The location from which to search.
+     * @param area           The movement area to search within.
+     * @param species        The classes of actor to be searched for.
+     * @param searchDistance The distance to search within the field.
+     * @return A cursor over the cells holding the species.
+     */
+    public NeighbourCursor neighboursOfSpecies(Location location, MovementArea area, Class[] species, int searchDistance)
+    {
+        NeighbourCursor cursor = getCursor().resetMatches();
+        HashMap<Class, Integer> ids = speciesIds;
+        for (int i = 0; i < species.length; i++) {
+            Integer id = ids.get(species[i]);
+            if (id != null) {
+                addMatches(cursor, location, area, id, -1, searchDistance);
+            }
+        }
+        return cursor;
+    }
+
+    /**
+     * Start a walk, in a random order, over the adjacent cells holding
+     * an actor of one of the species of a mask. Testing a species is a
+     * bit AND, and its cells are found from its bit plane.
+     * The returned cursor is shared by all the queries on this field.
+     *
+     * @param location       The location from which to search.
+     * @param area           The movement area to search within.
+     * @param species        The mask of the species ids to be searched for.
+     * @param searchDistance The distance to search within the field.
+     * @return A cursor over the cells holding the species.
+     */
+    public NeighbourCursor neighboursOfSpecies(Location location, MovementArea area, long species, int searchDistance)
+    {
+        NeighbourCursor cursor = getCursor().resetMatches();
+        for (long bits = species; bits != 0; bits &= bits - 1) {
+            addMatches(cursor, location, area, Long.numberOfTrailingZeros(bits), -1, searchDistance);
+        }
+        return cursor;
+    }
+
+    /**
+     * Start a walk, in a random order, over the adjacent cells holding
+     * an actor of a given species id and gender.
+     * The returned cursor is shared by all the queries on this field.
+     *
+     * @param location       The location from which to search.
+     * @param area           The movement area to search within.
+     * @param species        The species id of the required actors.
+     * @param gender         The gender of the required actors.
+     * @param searchDistance The distance to search within the field.
+     * @return A cursor over the cells holding the species and gender.
+     */
+    public NeighbourCursor neighboursOfSpecies(Location location, MovementArea area, int species, Gender gender, int searchDistance)
+    {
+        NeighbourCursor cursor = getCursor().resetMatches();
+        addMatches(cursor, location, area, species, gender.ordinal(), searchDistance);
+        return cursor;
+    }
+
+    /**
+     * Start a walk, in a random order, over the adjacent cells holding
+     * an actor of a given species and gender.
+     * The returned cursor is shared by all the queries on this field.
+     *
+     * @param location       The location from which to search.
+     * @param area           The movement area to search within.
+     * @param species        The class of actor to be searched for.
+     * @param gender         The gender of the required actors.
+     * @param searchDistance The distance to search within the field.
+     * @return A cursor over the cells holding the species and gender.
+     */
+    public NeighbourCursor neighboursOfSpecies(Location location, MovementArea area, Class species, Gender gender, int searchDistance)
+    {
+        NeighbourCursor cursor = getCursor().resetMatches();
+        Integer id = speciesIds.get(species);
+        if (id != null) {
+            addMatches(cursor, location, area, id, gender.ordinal(), searchDistance);
+        }
+        return cursor;
+    }
+
+    /**
+     * Add to the cursor the cells around a location that are within the
+     * movement area and hold an actor of the given species (or are free)
+     * and, if given, of the given gender. Each row of the search window
+     * is tested 64 cells at a time, starting from a multiple of 64 so
+     * that chunked storage reads a single word per run.
+     *
+     * @param cursor         The cursor to add the cells to.
+     * @param location       The location from which to search.
+     * @param area           The movement area to search within.
+     * @param species        The species id to match, or FREE for the free cells.
+     * @param gender         The gender ordinal to match, or -1 for any gender.
+     * @param searchDistance The distance to search within the field.
+     */
+    private void addMatches(NeighbourCursor cursor, Location location, MovementArea area, int species, int gender, int searchDistance)
+    {
+        int row = location.getRow();
+        int col = location.getCol();
+        int fromRow = Math.max(row - searchDistance, 0);
+        int toRow = Math.min(row + searchDistance, depth - 1);
+        int fromCol = Math.max(col - searchDistance, 0);
+        int toCol = Math.min(col + searchDistance, width - 1);
+
+        for (int nextRow = fromRow; nextRow <= toRow; nextRow++) {
+            for (int base = fromCol & ~63; base <= toCol; base += 64) {
+                long bits;
+                if (species == FREE) {
+                    bits = ~storage.occupiedBits(nextRow, base);
+                } else {
+                    bits = storage.speciesBits(species, nextRow, base);
+                }
+                if (bits == 0) {
+                    continue;
+                }
+                bits &= storage.areaBits(area, nextRow, base);
+                if (gender >= 0) {
+                    bits &= storage.genderBits(gender, nextRow, base);
+                }
+                // Keep only the bits of the cells between fromCol and toCol.
+                if (base < fromCol) {
+                    bits &= -1L << (fromCol - base);
+                }
+                if (toCol - base < 63) {
+                    bits &= -1L >>> (63 - (toCol - base));
+                }
+                while (bits != 0) {
+                    int nextCol = base + Long.numberOfTrailingZeros(bits);
+                    if (nextRow != row || nextCol != col) {
+                        cursor.addMatch(nextRow, nextCol);
+                    }
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return a new id for an actor created in this field. Ids are handed
+     * out in order from zero, starting again when the field is cleared,
+     * so a run of the simulation gives its actors the same ids each time.
+     * On a step worker thread the id is drawn from the sequence of the
+     * stripe being stepped instead, so it does not depend on how the
+     * stripes are interleaved on the threads.
+     *
+     * @return The id for the actor.
+     */
+    public long nextActorId()
+    {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof StepWorker) {
+            return ((StepWorker) thread).nextActorId();
+        }
+        return nextActorId++;
+    }
+
+    /**
+     * @return The id the next actor created outside a step worker thread is given.
+     */
+    public long getNextActorId()
+    {
+        return nextActorId;
+    }
+
+    /**
+     * Skip over the ids handed out by the step workers in a parallel
+     * step, so that they are not handed out again.
+     *
+     * @param count The number of ids to skip.
+     */
+    public void skipActorIds(long count)
+    {
+        nextActorId += count;
+    }
+
+    /**
+     * Start a synchronous step. Until the step is committed, the moves
+     * made with move() and remove() are held back and the field keeps
+     * its contents from the start of the step, which all queries see.
+     * Until then, the meals the actors make are held back too, so every
+     * prey takes its turn in the step whatever its place in the list.
+     *
+     * @param step The number of the step, which seeds the resolution
+     *             of collisions.
+     */
+    public void beginStep(int step)
+    {
+        synchronousStep = step;
+        deciding = true;
+    }
+
+    /**
+     * @return Whether the actors of a synchronous step are deciding, so their meals are held back.
+     */
+    public boolean isDeciding()
+    {
+        return deciding;
+    }
+
+    /**
+     * Hold back a meal until the synchronous step is resolved. Of the
+     * animals that try to eat the same prey, only the one with the
+     * strongest claim to its cell eats it.
+     *
+     * @param eater The animal eating.
+     * @param prey  The location of its prey.
+     */
+    public void addMeal(Animal eater, Location prey)
+    {
+        meals.add(eater, IntentBuffer.NONE, IntentBuffer.NONE, prey.getRow(), prey.getCol());
+    }
+
+    /**
+     * Apply the moves, births and deaths held back since beginStep(),
+     * and end the synchronous step. This is resolveStep(), applyMoves()
+     * and applyBirths() in turn.
+     */
+    public void commitStep()
+    {
+        resolveStep();
+        applyMoves();
+        applyBirths();
+    }
+
+    /**
+     * Choose, for every cell that actors move or are born into during
+     * the synchronous step, the actor that gets it. The field itself is
+     * not changed.
+     *
+     * First the meals are applied: each prey still alive is eaten by the
+     * animal with the strongest claim to its cell, and feeds no other.
+     * Then each cell goes to the actor with the highest priority, a hash
+     * of its id, the step and the cell, so the outcome does not depend
+     * on the order in which the actors acted. A cell that held an actor
+     * still alive cannot be moved into.
+     */
+    public void resolveStep()
+    {
+        deciding = false;
+        resolveMeals();
+
+        int count = intents.size();
+        for (int intent = 0; intent < count; intent++) {
+            Object actor = intents.getActor(intent);
+            int toRow = intents.getToRow(intent);
+            int toCol = intents.getToCol(intent);
+            if (toRow != IntentBuffer.NONE && isAlive(actor) && isVacant(toRow, toCol)) {
+                long cell = (long) toRow * width + toCol;
+                intents.claim(cell, intent, priorityOf(actor, cell));
+            }
+        }
+    }
+
+    /**
+     * Apply the deaths and moves of the synchronous step, once the cells
+     * have been resolved: the dead are taken out, and each actor that won
+     * the cell it moves to is moved there. An actor that lost stays
+     * where it was.
+     */
+    public void applyMoves()
+    {
+        int count = intents.size();
+
+        // Take out the actors that died or won a cell to move to.
+        for (int intent = 0; intent < count; intent++) {
+            Object actor = intents.getActor(intent);
+            int fromRow = intents.getFromRow(intent);
+            int fromCol = intents.getFromCol(intent);
+            if (fromRow != IntentBuffer.NONE && storage.get(fromRow, fromCol) == actor
+                    && (!isAlive(actor) || wonCell(intent))) {
+                vacate(fromRow, fromCol, actor);
+            }
+        }
+
+        // Put the winners in their new cells, and send the losers back.
+        for (int intent = 0; intent < count; intent++) {
+            Object actor = intents.getActor(intent);
+            int toRow = intents.getToRow(intent);
+            int fromRow = intents.getFromRow(intent);
+            if (toRow == IntentBuffer.NONE || fromRow == IntentBuffer.NONE || !isAlive(actor)) {
+                continue;
+            }
+            if (wonCell(intent)) {
+                occupy(toRow, intents.getToCol(intent), actor);
+            } else {
+                ((Actor) actor).revertLocation(getLocation(fromRow, intents.getFromCol(intent)));
+            }
+        }
+    }
+
+    /**
+     * Apply the births of the synchronous step, once the moves have been
+     * applied, and end the step. Each newborn that won the cell it was to
+     * be born into is placed there; a newborn that lost is never born.
+     */
+    public void applyBirths()
+    {
+        int count = intents.size();
+        for (int intent = 0; intent < count; intent++) {
+            Object actor = intents.getActor(intent);
+            if (intents.getFromRow(intent) != IntentBuffer.NONE || !isAlive(actor)) {
+                continue;
+            }
+            if (wonCell(intent)) {
+                occupy(intents.getToRow(intent), intents.getToCol(intent), actor);
+            } else {
+                ((Actor) actor).discard();
+            }
+        }
+
+        intents.clear();
+        synchronousStep = -1;
+    }
+
+    /**
+     * Let each prey of the synchronous step that is still alive be eaten
+     * by the animal with the strongest claim to it.
+     */
+    private void resolveMeals()
+    {
+        int count = meals.size();
+        for (int meal = 0; meal < count; meal++) {
+            long cell = (long) meals.getToRow(meal) * width + meals.getToCol(meal);
+            meals.claim(cell, meal, priorityOf(meals.getActor(meal), cell));
+        }
+        for (int meal = 0; meal < count; meal++) {
+            int row = meals.getToRow(meal);
+            int col = meals.getToCol(meal);
+            Object prey = storage.get(row, col);
+            if (meals.holdsClaim(meal, (long) row * width + col) && prey instanceof Actor && ((Actor) prey).isAlive()) {
+                ((Animal) meals.getActor(meal)).feedOn((Actor) prey);
+            }
+        }
+        meals.clear();
+    }
+
+    /**
+     * Move an actor from one cell to another, or place a newborn.
+     * During a synchronous step the move is held back until the
+     * step is committed. With concurrent storage the actor only
+     * moves if the cell it moves to is free, and it is taken out of
+     * the cell it moves from only if it is still there.
+     *
+     * @param actor The actor to move.
+     * @param from  The location it moves from, or null for a newborn.
+     * @param to    The location it moves to.
+     * @return true if the actor moved, false if another actor
+     *         took the cell first.
+     */
+    public boolean move(Object actor, Location from, Location to)
+    {
+        if (synchronousStep >= 0) {
+            if (from == null) {
+                intents.add(actor, IntentBuffer.NONE, IntentBuffer.NONE, to.getRow(), to.getCol());
+            } else {
+                intents.add(actor, from.getRow(), from.getCol(), to.getRow(), to.getCol());
+            }
+            return true;
+        }
+        if (storage.isConcurrent()) {
+            if (!claim(actor, to.getRow(), to.getCol())) {
+                return false;
+            }
+            if (from != null) {
+                release(actor, from.getRow(), from.getCol());
+            }
+            return true;
+        }
+        if (from != null) {
+            clear(from);
+        }
+        place(actor, to);
+        return true;
+    }
+
+    /**
+     * Take an actor that has died out of the field.
+     * During a synchronous step the actor stays in its cell until
+     * the step is committed. With concurrent storage the cell is
+     * only cleared if it still holds the actor.
+     *
+     * @param actor    The actor to remove.
+     * @param location Its location.
+     */
+    public void remove(Object actor, Location location)
+    {
+        if (synchronousStep >= 0) {
+            intents.add(actor, location.getRow(), location.getCol(), IntentBuffer.NONE, IntentBuffer.NONE);
+            return;
+        }
+        if (storage.isConcurrent()) {
+            release(actor, location.getRow(), location.getCol());
+            return;
+        }
+        clear(location);
+    }
+
+    /**
+     * Place an actor in a cell if the cell is free. With concurrent
+     * storage this is atomic, so of several threads claiming the same
+     * cell exactly one succeeds.
+     *
+     * @param actor The actor to place.
+     * @param row   The row of the cell.
+     * @param col   The column of the cell.
+     * @return true if the actor was placed, false if the cell was taken.
+     */
+    public boolean claim(Object actor, int row, int col)
+    {
+        int id = speciesIdOf(actor);
+        if (!storage.claim(row, col, actor, id, genderOf(actor))) {
+            return false;
+        }
+        counters[id].increment();
+        return true;
+    }
+
+    /**
+     * Clear a cell if it holds the given actor. With concurrent
+     * storage this is atomic.
+     *
+     * @param actor The actor to remove.
+     * @param row   The row of the cell.
+     * @param col   The column of the cell.
+     * @return true if the actor was removed, false if the cell held something else.
+     */
+    public boolean release(Object actor, int row, int col)
+    {
+        int id = speciesIdOf(actor);
+        if (!storage.release(row, col, actor, id, genderOf(actor))) {
+            return false;
+        }
+        counters[id].decrement();
+        return true;
+    }
+
+    /**
+     * Return the cursor for a query: the field's cursor, or when several
+     * threads step the field the calling thread's own cursor.
+     *
+     * @return The cursor.
+     */
+    private NeighbourCursor getCursor()
+    {
+        if (parallel) {
+            return threadCursors.get();
+        }
+        return cursor;
+    }
+
+    /**
+     * Sets whether several threads step the field at once, each in
+     * its own stripe of rows, so that each needs a cursor of its own.
+     * A field over concurrent storage is always stepped in parallel.
+     * This must only be changed between steps.
+     *
+     * @param parallel Whether several threads step the field.
+     */
+    public void setParallel(boolean parallel)
+    {
+        this.parallel = parallel || storage.isConcurrent();
+    }
+
+    /**
+     * Count the population of every species afresh from the species
+     * planes, for when the counters may have been updated by several
+     * threads at once without locking.
+     */
+    public void recountPopulation()
+    {
+        Counter[] current = counters;
+        for (int id = 0; id < current.length; id++) {
+            if (current[id] != null) {
+                current[id].setCount(storage.countSpecies(id));
+            }
+        }
+    }
+
+    /**
+     * Check whether a cell may be moved into during a synchronous step:
+     * it must have been free, or held an actor that has since died.
+     */
+    private boolean isVacant(int row, int col)
+    {
+        Object occupant = storage.get(row, col);
+        return occupant == null || (occupant instanceof Actor && !((Actor) occupant).isAlive());
+    }
+
+    /**
+     * Check whether an intent of the current step won the cell it moves to.
+     */
+    private boolean wonCell(int intent)
+    {
+        int toRow = intents.getToRow(intent);
+        return toRow != IntentBuffer.NONE
+                && intents.holdsClaim(intent, (long) toRow * width + intents.getToCol(intent));
+    }
+
+    /**
+     * Return the priority of an actor's claim to a cell in the current step.
+     */
+    private long priorityOf(Object actor, long cell)
+    {
+        long id = actor instanceof Actor ? ((Actor) actor).getId() : 0;
+        return IntentBuffer.mix(IntentBuffer.mix(id * 31 + synchronousStep) ^ cell);
+    }
+
+    /**
+     * Check whether an object in the field is a living actor.
+     */
+    private static boolean isAlive(Object actor)
+    {
+        return !(actor instanceof Actor) || ((Actor) actor).isAlive();
+    }
+
     /**
      * Clear the given location.
      *
@@ -233,7 +1008,21 @@ public class Field
      */
     public void clear(Location location)
     {
-        field[location.getRow()][location.getCol()] = null;
+        clear(location.getRow(), location.getCol());
+    }
+
+    /**
+     * Clear the cell at the given row and column.
+     *
+     * @param row The row of the cell to clear.
+     * @param col The column of the cell to clear.
+     */
+    public void clear(int row, int col)
+    {
+        Object actor = storage.get(row, col);
+        if (actor != null) {
+            vacate(row, col, actor);
+        }
     }
 
     /**
@@ -247,7 +1036,13 @@ public class Field
      */
     public void place(Object actor, int row, int col)
     {
-        place(actor, new Location(row, col));
+        Object previous = storage.get(row, col);
+        if (previous != null) {
+            vacate(row, col, previous);
+        }
+        if (actor != null) {
+            occupy(row, col, actor);
+        }
     }
 
     /**
@@ -260,7 +1055,160 @@ public class Field
      */
     public void place(Object actor, Location location)
     {
-        field[location.getRow()][location.getCol()] = actor;
+        place(actor, location.getRow(), location.getCol());
+    }
+
+    /**
+     * Return the id of a species in the field's storage, giving the
+     * species an id and a counter if it has none yet.
+     *
+     * @param species The class of the species.
+     * @return The id of the species.
+     */
+    public int getSpeciesId(Class species)
+    {
+        Integer id = speciesIds.get(species);
+        if (id == null) {
+            return addSpecies(species);
+        }
+        return id;
+    }
+
+    /**
+     * Place an actor that is kept in columns rather than as an object
+     * in a free cell. The cell holds the class of the actor's species
+     * in its place, so the species bit planes, the population counters
+     * and the neighbour queries see it as they would an actor object.
+     *
+     * @param row     The row of the cell.
+     * @param col     The column of the cell.
+     * @param species The species id of the actor.
+     * @param gender  The gender ordinal of the actor.
+     */
+    public void placeSpecies(int row, int col, int species, int gender)
+    {
+        storage.put(row, col, speciesClasses.get(species), species, gender);
+        counters[species].increment();
+    }
+
+    /**
+     * Clear the cell of an actor that is kept in columns.
+     *
+     * @param row     The row of the cell.
+     * @param col     The column of the cell.
+     * @param species The species id of the actor.
+     * @param gender  The gender ordinal of the actor.
+     */
+    public void clearSpecies(int row, int col, int species, int gender)
+    {
+        storage.remove(row, col, species, gender);
+        counters[species].decrement();
+    }
+
+    /**
+     * Store a newly placed actor, counting it in the population
+     * of its species.
+     *
+     * @param row   The row of the cell.
+     * @param col   The column of the cell.
+     * @param actor The actor placed in the cell.
+     */
+    private void occupy(int row, int col, Object actor)
+    {
+        int id = speciesIdOf(actor);
+        storage.put(row, col, actor, id, genderOf(actor));
+        counters[id].increment();
+    }
+
+    /**
+     * Return the species id of an actor, giving its species an id
+     * and a counter if it is the first of its species.
+     *
+     * @param actor The actor.
+     * @return The species id of the actor.
+     */
+    private int speciesIdOf(Object actor)
+    {
+        if (actor instanceof Actor) {
+            int ordinal = ((Actor) actor).getSpecies().getOrdinal();
+            Counter[] current = counters;
+            if (ordinal < current.length && current[ordinal] != null) {
+                return ordinal;
+            }
+        }
+        Integer id = speciesIds.get(actor.getClass());
+        if (id == null) {
+            return addSpecies(actor.getClass());
+        }
+        return id;
+    }
+
+    /**
+     * Give a species an id and a counter: its ordinal if it is a
+     * registered species, or else the next id after the ordinals.
+     * The species map is replaced rather than changed, so that other
+     * threads can keep reading it.
+     *
+     * @param species The class of the species.
+     * @return The id of the species.
+     */
+    private synchronized int addSpecies(Class species)
+    {
+        Integer id = speciesIds.get(species);
+        if (id != null) {
+            return id;
+        }
+        id = SpeciesRegistry.ordinalOf(species);
+        if (id < 0) {
+            id = Math.max(counters.length, SpeciesRegistry.size());
+        }
+        Counter count;
+        if (storage.isConcurrent()) {
+            count = new AtomicCounter(species.getName());
+        } else {
+            count = new Counter(species.getName());
+        }
+        Counter[] grown = Arrays.copyOf(counters, Math.max(counters.length, id + 1));
+        grown[id] = count;
+        counters = grown;
+        while (speciesClasses.size() <= id) {
+            speciesClasses.add(null);
+        }
+        speciesClasses.set(id, species);
+        population.put(species, count);
+        HashMap<Class, Integer> ids = new HashMap<>(speciesIds);
+        ids.put(species, id);
+        speciesIds = ids;
+        return id;
+    }
+
+    /**
+     * Remove an actor from its cell and from the population
+     * of its species.
+     *
+     * @param row   The row of the cell.
+     * @param col   The column of the cell.
+     * @param actor The actor removed from the cell.
+     */
+    private void vacate(int row, int col, Object actor)
+    {
+        int id = speciesIdOf(actor);
+        storage.remove(row, col, id, genderOf(actor));
+        counters[id].decrement();
+    }
+
+    /**
+     * Return the gender ordinal of an object in the field.
+     *
+     * @param actor The object.
+     * @return The ordinal of its gender, or -1 if it is not an actor.
+     */
+    private static int genderOf(Object actor)
+    {
+        if (actor instanceof Actor) {
+            return ((Actor) actor).getGender().ordinal();
+        }
+        return -1;
     }
 
     /**
@@ -283,7 +1231,72 @@ public class Field
      */
     public Object getObjectAt(int row, int col)
     {
-        return field[row][col];
+        return storage.get(row, col);
+    }
+
+    /**
+     * Return the species (class of actor) in a cell, if any.
+     * The species is read from the field's storage without
+     * touching the actor, which suits rendering passes.
+     *
+     * @param row The desired row.
+     * @param col The desired column.
+     * @return The class of the actor in the cell, or null if there is none.
+     */
+    public Class getSpeciesAt(int row, int col)
+    {
+        int id = storage.speciesAt(row, col);
+        if (id < 0) {
+            return null;
+        }
+        return speciesClasses.get(id);
+    }
+
+    /**
+     * Return the species id of the actor in a cell, which for a
+     * registered species is its ordinal.
+     *
+     * @param row The desired row.
+     * @param col The desired column.
+     * @return The species id, or -1 if the cell is free.
+     */
+    public int getSpeciesIdAt(int row, int col)
+    {
+        return storage.speciesAt(row, col);
+    }
+
+    /**
+     * Return the number of cells in the field.
+     *
+     * @return The number of cells, which may exceed the range of an int.
+     */
+    public long getSize()
+    {
+        return storage.getSize();
+    }
+
+    /**
+     * Return the number of actors of each species in the field.
+     * The counters are kept up to date as actors are placed and
+     * cleared, so they can be read at any time without a scan.
+     *
+     * @return The population counter of each species.
+     */
+    public HashMap<Class, Counter> getPopulation()
+    {
+        return population;
+    }
+
+    /**
+     * Return the population counter of each species, indexed by species
+     * id, which for a registered species is its ordinal. An id not given
+     * to a species yet has no counter.
+     *
+     * @return The counters, with null for the ids not given yet.
+     */
+    public Counter[] getCounters()
+    {
+        return counters;
     }
 
     /**
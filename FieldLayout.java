@@ -0,0 +1,75 @@
+/**
+ * The ways the cells of a field can be laid out in memory.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public enum FieldLayout {
+    /**
+     * A single flat array of cells in row-major order.
+     */
+    DENSE,
+
+    /**
+     * A flat array of cells in tiles of 8 x 8, with the tiles in Morton order.
+     */
+    TILED,
+
+    /**
+     * Chunks of 8 x 64 cells, allocated when an actor first lands in them.
+     */
+    CHUNKED,
+
+    /**
+     * A dense array of cells kept outside the Java heap.
+     */
+    OFF_HEAP,
+
+    /**
+     * A flat array of cells that several threads can claim cells in at once.
+     */
+    CONCURRENT;
+
+    // The largest number of cells for which a dense layout is chosen by default.
+    private static final long DENSE_LIMIT = 1L << 26;
+
+    /**
+     * Choose a layout for a field of the given size: dense, unless the
+     * field is too big to hold every cell in memory.
+     *
+     * @param depth The depth of the field.
+     * @param width The width of the field.
+     * @return The layout for the field.
+     */
+    public static FieldLayout forSize(int depth, int width)
+    {
+        if ((long) depth * width > DENSE_LIMIT) {
+            return CHUNKED;
+        }
+        return DENSE;
+    }
+
+    /**
+     * Create the storage for a field with this layout.
+     *
+     * @param depth      The depth of the field.
+     * @param width      The width of the field.
+     * @param groundPlan The ground plan of the field.
+     * @return The storage for the field.
+     */
+    public FieldStorage createStorage(int depth, int width, GroundPlan groundPlan)
+    {
+        switch (this) {
+            case CHUNKED:
+                return new ChunkedFieldStorage(depth, width, groundPlan);
+            case TILED:
+                return new TiledFieldStorage(depth, width, groundPlan);
+            case OFF_HEAP:
+                return new OffHeapFieldStorage(depth, width, groundPlan);
+            case CONCURRENT:
+                return new ConcurrentFieldStorage(depth, width, groundPlan);
+            default:
+                return new DenseFieldStorage(depth, width, groundPlan);
+        }
+    }
+}
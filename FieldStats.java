@@ -1,30 +1,28 @@
 import java.util.HashMap;
 
 /**
- * This class collects and provides some statistical data on the state 
- * of a field. It is flexible: it will create and maintain a counter 
- * for any class of object that is found within the field.
+ * This class provides some statistical data on the state of a field.
+ * It is flexible: the field maintains a counter for any class of
+ * object that is placed within it, and these counters are kept up
+ * to date as actors are placed, moved, born and killed, so the
+ * statistics can be read without scanning the field.
  * 
  * @author David J. Barnes, Michael Kölling and Ayesha Dorani
  * @version 2022.03.02
  */
 public class FieldStats
 {
-    // Counters for each type of Actor entity (Plant, Animal, etc.) in the simulation.
-    private HashMap<Class, Counter> counters;
-
-    // Whether the counters are currently up to date.
-    private boolean countsValid;
+    // The field the statistics are taken from.
+    private final Field field;
 
     /**
      * Construct a FieldStats object.
+     *
+     * @param field The field to provide the stats for.
      */
-    public FieldStats()
+    public FieldStats(Field field)
     {
-        // Set up a collection for counters for each type of animal that
-        // we might find
-        counters = new HashMap<>();
-        countsValid = true;
+        this.field = field;
     }
     
     /**
@@ -32,7 +30,18 @@ public class FieldStats
      */
     public HashMap<Class, Counter> getPopulation() 
     {
-        return counters;
+        return field.getPopulation();
+    }
+
+    /**
+     * Get the population counter of each species, indexed by its
+     * ordinal, with null for the species never placed in the field.
+     *
+     * @return The counters.
+     */
+    public Counter[] getCounters()
+    {
+        return field.getCounters();
     }
 
     /**
@@ -40,14 +49,13 @@ public class FieldStats
      *
      * @return A string describing what is in the field.
      */
-    public String getPopulationDetails(Field field)
+    public String getPopulationDetails()
     {
         StringBuffer buffer = new StringBuffer();
-        if(!countsValid) {
-            generateCounts(field);
-        }
-        for(Class key : counters.keySet()) {
-            Counter info = counters.get(key);
+        for(Counter info : field.getCounters()) {
+            if(info == null) {
+                continue;
+            }
             buffer.append(info.getName());
             buffer.append(": ");
             buffer.append(info.getCount());
@@ -55,44 +63,6 @@ public class FieldStats
         }
         return buffer.toString();
     }
-    
-    /**
-     * Invalidate the current set of statistics; reset all 
-     * counts to zero.
-     */
-    public void reset()
-    {
-        countsValid = false;
-        for(Class key : counters.keySet()) {
-            Counter count = counters.get(key);
-            count.reset();
-        }
-    }
-
-    /**
-     * Increment the count for one class of animal.
-     *
-     * @param actorClass The class of animal to increment.
-     */
-    public void incrementCount(Class actorClass)
-    {
-        Counter count = counters.get(actorClass);
-        if(count == null) {
-            // We do not have a counter for this species yet.
-            // Create one.
-            count = new Counter(actorClass.getName());
-            counters.put(actorClass, count);
-        }
-        count.increment();
-    }
-
-    /**
-     * Indicate that an animal count has been completed.
-     */
-    public void countFinished()
-    {
-        countsValid = true;
-    }
 
     /**
      * Determine whether the simulation is still viable.
@@ -100,41 +70,15 @@ public class FieldStats
      *
      * @return true If there is more than one species of Actor alive.
      */
-    public boolean isViable(Field field)
+    public boolean isViable()
     {
         // How many counts are non-zero.
         int nonZero = 0;
-        if(!countsValid) {
-            generateCounts(field);
-        }
-        for(Class key : counters.keySet()) {
-            Counter info = counters.get(key);
-            if(info.getCount() > 0) {
+        for(Counter info : field.getCounters()) {
+            if(info != null && info.getCount() > 0) {
                 nonZero++;
             }
         }
         return nonZero > 1;
     }
-    
-    /**
-     * Generate counts of the number of Animals and Plants
-     * These are not kept up to date as Animals and Plants
-     * are placed in the field, but only when a request
-     * is made for the information.
-     *
-     * @param field The field to generate the stats for.
-     */
-    private void generateCounts(Field field)
-    {
-        reset();
-        for(int row = 0; row < field.getDepth(); row++) {
-            for(int col = 0; col < field.getWidth(); col++) {
-                Object animal = field.getObjectAt(row, col);
-                if(animal != null) {
-                    incrementCount(animal.getClass());
-                }
-            }
-        }
-        countsValid = true;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,285 @@
+import java.util.List;
+
+/**
+ * The storage behind a field: the actor held in each cell, and the bit
+ * planes that record which cells are occupied and by which species and
+ * gender. A field does its bookkeeping (species ids, population counts)
+ * itself and leaves the layout of the cells to its storage, so the same
+ * field can be backed by a dense array, by lazily allocated chunks or
+ * by memory outside the Java heap.
+ *
+ * Bits are read 64 cells at a time along a row: bit i of a returned word
+ * describes the cell (row, col + i). The bits of cells past the end of
+ * the row are unspecified, so callers mask them off.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public abstract class FieldStorage
+{
+    // The depth of the field.
+    protected final int depth;
+
+    // The width of the field.
+    protected final int width;
+
+    // The rectangles making up each movement area, indexed by the area's
+    // ordinal. Each rectangle is {fromRow, toRow, fromCol, toCol}, with the
+    // upper limits exclusive and clipped to the field.
+    private final int[][][] areaRects;
+
+    /**
+     * Create the storage for a field of the given dimensions.
+     *
+     * @param depth      The depth of the field.
+     * @param width      The width of the field.
+     * @param groundPlan The ground plan of the field.
+     */
+    protected FieldStorage(int depth, int width, GroundPlan groundPlan)
+    {
+        this.depth = depth;
+        this.width = width;
+
+        MovementArea[] areas = MovementArea.values();
+        areaRects = new int[areas.length][][];
+        for (MovementArea area : areas) {
+            areaRects[area.ordinal()] = compileRects(area.getBounds(groundPlan));
+        }
+    }
+
+    /**
+     * Convert the bounds of a movement area into rectangles clipped to the field.
+     *
+     * @param bounds The bounds of the area.
+     * @return The rectangles of the area.
+     */
+    private int[][] compileRects(List<Bound> bounds)
+    {
+        int[][] rects = new int[bounds.size()][];
+        for (int i = 0; i < rects.length; i++) {
+            Bound bound = bounds.get(i);
+            // A bound covers the rows from its upper-left row up to its lower-left row,
+            // and the columns from its upper-left column up to its lower-right column.
+            rects[i] = new int[] {
+                Math.max(bound.getLocation1().getRow(), 0),
+                Math.min(bound.getLocation3().getRow(), depth),
+                Math.max(bound.getLocation1().getCol(), 0),
+                Math.min(bound.getLocation4().getCol(), width)
+            };
+        }
+        return rects;
+    }
+
+    /**
+     * Checks, from the bounds of a movement area, whether a cell is within it.
+     *
+     * @param area The movement area.
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @return true if the cell is within the area, false otherwise.
+     */
+    protected boolean boundsContain(MovementArea area, int row, int col)
+    {
+        for (int[] rect : areaRects[area.ordinal()]) {
+            if (rect[0] <= row && row < rect[1] && rect[2] <= col && col < rect[3]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return, from the bounds of a movement area, the bits of the
+     * 64 cells from (row, col) that are within it.
+     *
+     * @param area The movement area.
+     * @param row  The row of the cells.
+     * @param col  The column of the first cell.
+     * @return The bits of the cells within the area.
+     */
+    protected long boundsBits(MovementArea area, int row, int col)
+    {
+        long bits = 0;
+        for (int[] rect : areaRects[area.ordinal()]) {
+            if (rect[0] <= row && row < rect[1]) {
+                int from = Math.max(rect[2] - col, 0);
+                int to = Math.min(rect[3] - col, 64);
+                if (from < to) {
+                    long range = to == 64 ? -1L : (1L << to) - 1;
+                    bits |= range & (-1L << from);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Return the number of cells in the field.
+     *
+     * @return The number of cells, which may exceed the range of an int.
+     */
+    public long getSize()
+    {
+        return (long) depth * width;
+    }
+
+    /**
+     * Return the actor in a cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The actor in the cell, or null if it is free.
+     */
+    public abstract Object get(int row, int col);
+
+    /**
+     * Return the species id of the actor in a cell, without
+     * touching the actor itself.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The species id, or -1 if the cell is free.
+     */
+    public abstract int speciesAt(int row, int col);
+
+    /**
+     * Put an actor in a free cell and set its bits in the planes.
+     *
+     * @param row     The row of the cell.
+     * @param col     The column of the cell.
+     * @param actor   The actor to be stored.
+     * @param species The species id of the actor.
+     * @param gender  The ordinal of the actor's gender, or -1 if it has none.
+     */
+    public abstract void put(int row, int col, Object actor, int species, int gender);
+
+    /**
+     * Put an actor in a cell if the cell is free. Storage that is not
+     * concurrent checks and puts in two steps, so it must only be used
+     * by one thread at a time.
+     *
+     * @param row     The row of the cell.
+     * @param col     The column of the cell.
+     * @param actor   The actor to put in the cell.
+     * @param species The species id of the actor.
+     * @param gender  The gender ordinal of the actor, or -1 for none.
+     * @return true if the actor was put in the cell, false if it was taken.
+     */
+    public boolean claim(int row, int col, Object actor, int species, int gender)
+    {
+        if (get(row, col) != null) {
+            return false;
+        }
+        put(row, col, actor, species, gender);
+        return true;
+    }
+
+    /**
+     * Remove an actor from a cell if the cell still holds it.
+     *
+     * @param row     The row of the cell.
+     * @param col     The column of the cell.
+     * @param actor   The actor to remove.
+     * @param species The species id of the actor.
+     * @param gender  The gender ordinal of the actor, or -1 for none.
+     * @return true if the actor was removed, false if the cell held something else.
+     */
+    public boolean release(int row, int col, Object actor, int species, int gender)
+    {
+        if (get(row, col) != actor) {
+            return false;
+        }
+        remove(row, col, species, gender);
+        return true;
+    }
+
+    /**
+     * Check whether claim() and release() are atomic, so that
+     * several threads may move actors in the storage at once.
+     *
+     * @return true if the storage may be shared between threads.
+     */
+    public boolean isConcurrent()
+    {
+        return false;
+    }
+
+    /**
+     * Check whether threads may change the cells of rows far enough
+     * apart at the same time without locking: the rows must share no
+     * state, beyond the words of the bit planes where a row ends and
+     * the next begins.
+     *
+     * @return true if rows far apart may be changed by different threads.
+     */
+    public boolean isRowPartitionable()
+    {
+        return false;
+    }
+
+    /**
+     * Count the actors of a species, from its bit plane.
+     *
+     * @param species The species id.
+     * @return The number of cells holding an actor of the species.
+     */
+    public int countSpecies(int species)
+    {
+        int count = 0;
+        for (int row = 0; row < depth; row++) {
+            for (int col = 0; col < width; col += 64) {
+                long bits = speciesBits(species, row, col);
+                if (width - col < 64) {
+                    bits &= (1L << (width - col)) - 1;
+                }
+                count += Long.bitCount(bits);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remove the actor from a cell and clear its bits in the planes.
+     *
+     * @param row     The row of the cell.
+     * @param col     The column of the cell.
+     * @param species The species id of the actor.
+     * @param gender  The ordinal of the actor's gender, or -1 if it has none.
+     */
+    public abstract void remove(int row, int col, int species, int gender);
+
+    /**
+     * Empty all the cells.
+     */
+    public abstract void clear();
+
+    /**
+     * Checks whether a cell is within a movement area.
+     *
+     * @param area The movement area.
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @return true if the cell is within the area, false otherwise.
+     */
+    public abstract boolean isWithinArea(MovementArea area, int row, int col);
+
+    /**
+     * @return The bits of the 64 cells from (row, col) within a movement area.
+     */
+    public abstract long areaBits(MovementArea area, int row, int col);
+
+    /**
+     * @return The bits of the 64 cells from (row, col) holding an actor.
+     */
+    public abstract long occupiedBits(int row, int col);
+
+    /**
+     * @return The bits of the 64 cells from (row, col) holding an actor of a species.
+     */
+    public abstract long speciesBits(int species, int row, int col);
+
+    /**
+     * @return The bits of the 64 cells from (row, col) holding an actor of a gender.
+     */
+    public abstract long genderBits(int gender, int row, int col);
+}
@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -44,6 +42,10 @@ public class Fish extends Animal implements Prey
     // The max age to which a Fish can live.
     private static final int maxAge = 100;
 
+    // The descriptor of the Fish, shared by every Fish.
+    private static final SpeciesTraits traits = SpeciesTraits.prey(Fish.class, activeTime, movementArea, femaleChances, foodValue, noiseValue, preysOn,
+            maxAge, breedingAge, breedingProbability, maxLitterSize);
+
     /**
      * Constructor for the Fish object.
      * The Fish object can have an age that is randomly defined or set at 0.
@@ -54,17 +56,27 @@ public class Fish extends Animal implements Prey
      */
     public Fish(Field field, Location location, boolean randomAge)
     {
-        super(field, location, randomAge, femaleChances, foodValue, maxAge, breedingAge, breedingProbability, maxLitterSize);
+        super(field, location, randomAge, traits);
+    }
+
+    /**
+     * Retrieves the movement area of the Fish.
+     *
+     * @return The movement area of the Fish.
+     */
+    public static MovementArea getMovementArea()
+    {
+        return movementArea;
     }
 
     /**
-     * Retrieves the Bounds of the Fish.
+     * Retrieves the descriptor of the Fish, shared by every Fish.
      *
-     * @return The bounds of the Fish.
+     * @return The descriptor of the Fish.
      */
-    public static ArrayList<Bound> getBounds()
+    public static SpeciesTraits getTraits()
     {
-        return movementArea.getBounds();
+        return traits;
     }
 
     /**
@@ -75,21 +87,19 @@ public class Fish extends Animal implements Prey
         if (TimeOfDay.getInstance().getTime() == activeTime) {
             // Checks if the current time matches the active hours of the Fish.
 
-            incrementAge();
-            incrementHunger();
-            if (isAlive()) {
+            if (takeTurn()) {
                 // Find a mate.
-                mate(newActors, this.getClass(), getBounds(), noiseValue);
+                mate(newActors, movementArea, noiseValue);
 
                 // Find a source of food.
                 findFood();
 
                 // Move to a free location.
-                Location newLocation = getField().freeAdjacentLocation(getLocation(), movementArea.getBounds(), 1);
+                Location newLocation = getField().freeAdjacentLocation(getLocation(), movementArea, 1);
 
                 // See if it was possible to move.
                 if (newLocation != null) {
-                    setLocation(newLocation);
+                    moveTo(newLocation, movementArea);
                 } else {
                     // Overcrowding.
                     setDamage();
@@ -106,11 +116,10 @@ public class Fish extends Animal implements Prey
     public void findFood()
     {
         Field field = getField();
-        List<Location> adjacent = field.adjacentLocations(getLocation(), movementArea.getBounds(), preysOn, 1);
+        NeighbourCursor cursor = field.neighboursOfSpecies(getLocation(), movementArea, traits.getPreyMask(), 1);
         // Find Prey.
-        Iterator<Location> it = adjacent.iterator();
-        if (it.hasNext()) {
-            eat(field, it.next());
+        if (cursor.next()) {
+            eat(field, cursor.getLocation());
             // Eat first instance of prey.
         }
     }
@@ -1,21 +1,20 @@
 import java.util.ArrayList;
 
 /**
- * Defines the Ground Plan (map), as a collection of bounds.
+ * Defines the Ground Plan (map) of a field, as a collection of bounds.
+ * Each field has its own ground plan, so fields of different sizes
+ * can exist side by side.
  *
  * @author Lavish K. Kumar
- * @version 2022.02.22
+ * @version 2022.03.02
  */
 public class GroundPlan 
 {
     // The length of the field.
-    private static int length;
+    private final int length;
 
     // The width of the field.
-    private static int width;
-
-    // A list of bounds that defines the Map.
-    private static ArrayList<Bound> bounds;
+    private final int width;
 
     /**
      * Constructor for the Ground Plan object.
@@ -25,11 +24,8 @@ public class GroundPlan
      */
     public GroundPlan(int length, int width) 
     {
-
         this.length = length;
         this.width = width;
-
-        bounds = new ArrayList<>();
     }
 
     /**
@@ -37,9 +33,9 @@ public class GroundPlan
      *
      * @return The bounds for the whole field.
      */
-    public static ArrayList<Bound> wholeArea()
+    public ArrayList<Bound> wholeArea()
     {
-        bounds = new ArrayList<>();
+        ArrayList<Bound> bounds = new ArrayList<>();
 
         Location location1 = new Location(0,0);
         Location location2 = new Location(0,width);
@@ -58,9 +54,9 @@ public class GroundPlan
      *
      * @return The bounds for the ground area within the field.
      */
-    public static ArrayList<Bound> groundArea()
+    public ArrayList<Bound> groundArea()
     {
-        bounds = new ArrayList<>();
+        ArrayList<Bound> bounds = new ArrayList<>();
 
         Location location1 = new Location(0,0);
         Location location2 = new Location(0,width);
@@ -79,9 +75,9 @@ public class GroundPlan
      *
      * @return The bounds for the water area within the field.
      */
-    public static ArrayList<Bound> waterArea()
+    public ArrayList<Bound> waterArea()
     {
-        bounds = new ArrayList<>();
+        ArrayList<Bound> bounds = new ArrayList<>();
 
         Location location1 = new Location((int) (length*0.8),0);
         Location location2 = new Location((int) (length*0.8),width);
@@ -100,11 +96,11 @@ public class GroundPlan
      *
      * @return The bounds for the water area and the ground area.
      */
-    public static ArrayList<Bound> groundAndWater()
+    public ArrayList<Bound> groundAndWater()
     {
        ArrayList<Bound> groundWater = new ArrayList<>();
        groundWater.addAll(groundArea());
        groundWater.addAll(waterArea());
        return groundWater;
     }
-}
\ No newline at end of file
+}
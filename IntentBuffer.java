@@ -0,0 +1,240 @@
+import java.util.Arrays;
+
+/**
+ * The changes made to a field during a synchronous step, held back
+ * until the end of the step so that every actor reads the field as it
+ * was when the step began. Each change, or intent, moves an actor from
+ * one cell to another: a newborn has no cell to move from, and an
+ * actor that dies where it stands has no cell to move to.
+ *
+ * The buffer also keeps, for each cell that some intent moves into,
+ * the intent that has the strongest claim to it, so that collisions
+ * can be resolved whatever order the intents were made in.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class IntentBuffer
+{
+    // The value of a row or column for no cell.
+    public static final int NONE = -1;
+
+    // The actor of each intent.
+    private Object[] actors;
+
+    // The cell each intent moves from and to, four ints per intent.
+    private int[] cells;
+
+    // The number of intents.
+    private int count;
+
+    // The claimed cells, in an open-addressed hash table; a free slot holds -1.
+    private long[] claimCells;
+
+    // The intent holding the claim in each slot of the table.
+    private int[] claimIntents;
+
+    // The priority of the claim in each slot of the table.
+    private long[] claimPriorities;
+
+    // The number of claimed cells.
+    private int claimCount;
+
+    /**
+     * Create an empty buffer.
+     */
+    public IntentBuffer()
+    {
+        actors = new Object[256];
+        cells = new int[4 * 256];
+        claimCells = new long[512];
+        claimIntents = new int[512];
+        claimPriorities = new long[512];
+        Arrays.fill(claimCells, -1);
+    }
+
+    /**
+     * Add an intent to the buffer.
+     *
+     * @param actor   The actor that moves.
+     * @param fromRow The row it moves from, or NONE for a newborn.
+     * @param fromCol The column it moves from, or NONE for a newborn.
+     * @param toRow   The row it moves to, or NONE if it leaves the field.
+     * @param toCol   The column it moves to, or NONE if it leaves the field.
+     */
+    public void add(Object actor, int fromRow, int fromCol, int toRow, int toCol)
+    {
+        if (count == actors.length) {
+            actors = Arrays.copyOf(actors, 2 * count);
+            cells = Arrays.copyOf(cells, 8 * count);
+        }
+        actors[count] = actor;
+        cells[4 * count] = fromRow;
+        cells[4 * count + 1] = fromCol;
+        cells[4 * count + 2] = toRow;
+        cells[4 * count + 3] = toCol;
+        count++;
+    }
+
+    /**
+     * @return The number of intents in the buffer.
+     */
+    public int size()
+    {
+        return count;
+    }
+
+    /**
+     * @return The actor of an intent.
+     */
+    public Object getActor(int intent)
+    {
+        return actors[intent];
+    }
+
+    /**
+     * @return The row an intent moves from, or NONE.
+     */
+    public int getFromRow(int intent)
+    {
+        return cells[4 * intent];
+    }
+
+    /**
+     * @return The column an intent moves from, or NONE.
+     */
+    public int getFromCol(int intent)
+    {
+        return cells[4 * intent + 1];
+    }
+
+    /**
+     * @return The row an intent moves to, or NONE.
+     */
+    public int getToRow(int intent)
+    {
+        return cells[4 * intent + 2];
+    }
+
+    /**
+     * @return The column an intent moves to, or NONE.
+     */
+    public int getToCol(int intent)
+    {
+        return cells[4 * intent + 3];
+    }
+
+    /**
+     * Claim a cell for an intent. The claim replaces the current one
+     * if it has a higher priority, or an equal priority and an actor
+     * with a lower id, so the winning claim does not depend on the
+     * order in which the claims are made.
+     *
+     * @param cell     The index of the cell claimed.
+     * @param intent   The intent claiming it.
+     * @param priority The priority of the claim.
+     */
+    public void claim(long cell, int intent, long priority)
+    {
+        if (2 * (claimCount + 1) > claimCells.length) {
+            growClaims();
+        }
+        int slot = findSlot(cell);
+        if (claimCells[slot] == -1) {
+            claimCells[slot] = cell;
+            claimIntents[slot] = intent;
+            claimPriorities[slot] = priority;
+            claimCount++;
+        } else if (priority > claimPriorities[slot]
+                || (priority == claimPriorities[slot] && tieBreakOf(intent) < tieBreakOf(claimIntents[slot]))) {
+            claimIntents[slot] = intent;
+            claimPriorities[slot] = priority;
+        }
+    }
+
+    /**
+     * Check whether an intent holds the claim to the cell it moves to.
+     *
+     * @param intent The intent.
+     * @param cell   The index of the cell it moves to.
+     * @return true if the intent won the cell.
+     */
+    public boolean holdsClaim(int intent, long cell)
+    {
+        int slot = findSlot(cell);
+        return claimCells[slot] == cell && claimIntents[slot] == intent;
+    }
+
+    /**
+     * Empty the buffer, ready for the next step.
+     */
+    public void clear()
+    {
+        Arrays.fill(actors, 0, count, null);
+        count = 0;
+        if (claimCount > 0) {
+            Arrays.fill(claimCells, -1);
+            claimCount = 0;
+        }
+    }
+
+    /**
+     * Return the value that decides between claims of equal priority:
+     * the id of the intent's actor, or the intent itself for an object
+     * that is not an actor.
+     */
+    private long tieBreakOf(int intent)
+    {
+        Object actor = actors[intent];
+        return actor instanceof Actor ? ((Actor) actor).getId() : intent;
+    }
+
+    /**
+     * Return the slot of the table holding a cell, or the free slot
+     * where it would go.
+     */
+    private int findSlot(long cell)
+    {
+        int mask = claimCells.length - 1;
+        int slot = (int) mix(cell) & mask;
+        while (claimCells[slot] != -1 && claimCells[slot] != cell) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Double the size of the table of claims.
+     */
+    private void growClaims()
+    {
+        long[] oldCells = claimCells;
+        int[] oldIntents = claimIntents;
+        long[] oldPriorities = claimPriorities;
+        claimCells = new long[2 * oldCells.length];
+        claimIntents = new int[claimCells.length];
+        claimPriorities = new long[claimCells.length];
+        Arrays.fill(claimCells, -1);
+        for (int i = 0; i < oldCells.length; i++) {
+            if (oldCells[i] != -1) {
+                int slot = findSlot(oldCells[i]);
+                claimCells[slot] = oldCells[i];
+                claimIntents[slot] = oldIntents[i];
+                claimPriorities[slot] = oldPriorities[i];
+            }
+        }
+    }
+
+    /**
+     * Scramble the bits of a value, so that nearby values land far apart.
+     *
+     * @param value The value to scramble.
+     * @return The scrambled value.
+     */
+    public static long mix(long value)
+    {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
@@ -51,6 +49,10 @@ public class Jaguar extends Animal implements Predator
     // The prey that the Jaguar eats.
     private static final Class[] preysOn = {Fish.class, Sloth.class};
 
+    // The descriptor of the Jaguar, shared by every Jaguar.
+    private static final SpeciesTraits traits = SpeciesTraits.predator(Jaguar.class, activeTime, movementArea, femaleChances, foodValue, noiseValue, preysOn,
+            attackProbability, maxAge, breedingAge, breedingProbability, maxLitterSize);
+
     /**
      * Constructor for the Jaguar object.
      * The Jaguar object can have an age that is randomly defined or set at 0.
@@ -61,17 +63,27 @@ public class Jaguar extends Animal implements Predator
      */
     public Jaguar(Field field, Location location, boolean randomAge)
     {
-        super(field, location, randomAge, femaleChances, foodValue, maxAge, breedingAge, breedingProbability, maxLitterSize);
+        super(field, location, randomAge, traits);
+    }
+
+    /**
+     * Retrieves the movement area of the Jaguar.
+     *
+     * @return The movement area of the Jaguar.
+     */
+    public static MovementArea getMovementArea()
+    {
+        return movementArea;
     }
 
     /**
-     * Retrieves the Bounds of the Jaguar.
+     * Retrieves the descriptor of the Jaguar, shared by every Jaguar.
      *
-     * @return The bounds of the Jaguar.
+     * @return The descriptor of the Jaguar.
      */
-    public static ArrayList<Bound> getBounds()
+    public static SpeciesTraits getTraits()
     {
-        return movementArea.getBounds();
+        return traits;
     }
 
     /**
@@ -82,22 +94,18 @@ public class Jaguar extends Animal implements Predator
         if (TimeOfDay.getInstance().getTime() == activeTime) {
             // Checks whether the animal is active at the current time.
 
-            incrementAge();
-            incrementHunger();
-            // Increments age and hunger.
-
-            if (isAlive()) {
-                mate(newActors, this.getClass(), getBounds(), noiseValue);
+            if (takeTurn()) {
+                mate(newActors, movementArea, noiseValue);
                 // Locate a mate
                 Location newLocation = findPrey();
                 // Move towards a source of food if available.
                 if (newLocation == null) {
                     // No food found - try to move to a free location.
-                    newLocation = getField().freeAdjacentLocation(getLocation(), movementArea.getBounds(), 1);
+                    newLocation = getField().freeAdjacentLocation(getLocation(), movementArea, 1);
                 }
                 // See if it was possible to move.
                 if (newLocation != null) {
-                    setLocation(newLocation);
+                    moveTo(newLocation, movementArea);
 
                 } else {
                     // Overcrowding.
@@ -117,13 +125,12 @@ public class Jaguar extends Animal implements Predator
     public Location findPrey()
     {
         Field field = getField();
-        List<Location> adjacent = field.adjacentLocations(getLocation(), movementArea.getBounds(), preysOn, 1);
-        // Get a list of prey.
-        Iterator<Location> it = adjacent.iterator();
-        while (it.hasNext()) {
+        NeighbourCursor cursor = field.neighboursOfSpecies(getLocation(), movementArea, traits.getPreyMask(), 1);
+        // Visit the adjacent prey.
+        while (cursor.next()) {
             // If the attack probability is high enough, eat the animal.
-            Location where = it.next();
             if (rand.nextDouble() <= getAttackProbability()) {
+                Location where = cursor.getLocation();
                 eat(field, where);
                 // Return the location.
                 return where;
@@ -8,10 +8,10 @@
 public class Location
 {
     // Row positions.
-    private int row;
+    private final int row;
 
     // Column positions
-    private int col;
+    private final int col;
 
     /**
      * Represent a row and column.
@@ -53,15 +53,17 @@ public class Location
     }
     
     /**
-     * Use the top 16 bits for the row value and the bottom for
-     * the column. Except for very big grids, this should give a
-     * unique hash code for each (row, col) pair.
+     * Pack the row and column into 64 bits and mix them down to 32,
+     * so that large grids, with coordinates beyond 16 bits, still
+     * spread their locations evenly over the hash codes.
      *
      * @return A hashcode for the location.
      */
     public int hashCode()
     {
-        return (row << 16) + col;
+        long key = ((long) row << 32) | (col & 0xffffffffL);
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
     }
     
     /**
@@ -0,0 +1,93 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The canonical locations of a field: one immutable Location per cell,
+ * created the first time the cell is asked for and handed out from then
+ * on, so that moving actors around the field does not allocate locations.
+ *
+ * The table is split into blocks of 8 rows by 64 columns, allocated when
+ * one of their cells is first asked for, so a huge field only pays for
+ * the regions its actors have visited.
+ *
+ * Several threads may ask for locations at once. Blocks and locations
+ * are published by a compare-and-set, so a thread that loses the race
+ * takes the one the winner published, and each cell keeps a single
+ * location.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class LocationTable
+{
+    // Atomic access to the blocks.
+    private static final VarHandle BLOCKS = MethodHandles.arrayElementVarHandle(Location[][].class);
+
+    // Atomic access to the locations of a block.
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Location[].class);
+
+    // The number of bits of a row addressing a cell within a block.
+    private static final int ROW_SHIFT = 3;
+
+    // The number of bits of a column addressing a cell within a block.
+    private static final int COL_SHIFT = 6;
+
+    // The number of rows of a block.
+    public static final int BLOCK_ROWS = 1 << ROW_SHIFT;
+
+    // The masks for a row and a column within a block.
+    private static final int ROW_MASK = (1 << ROW_SHIFT) - 1;
+    private static final int COL_MASK = (1 << COL_SHIFT) - 1;
+
+    // The blocks of locations, in row-major order of blocks.
+    private final Location[][] blocks;
+
+    // The number of blocks along a row of the field.
+    private final int blockCols;
+
+    /**
+     * Create an empty table for a field of the given dimensions.
+     *
+     * @param depth The depth of the field.
+     * @param width The width of the field.
+     */
+    public LocationTable(int depth, int width)
+    {
+        blockCols = (width + COL_MASK) >>> COL_SHIFT;
+        long blockCount = (long) ((depth + ROW_MASK) >>> ROW_SHIFT) * blockCols;
+        if (blockCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Field too large for a location table: " + depth + "x" + width);
+        }
+        blocks = new Location[(int) blockCount][];
+    }
+
+    /**
+     * Return the canonical location of a cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The location of the cell.
+     */
+    public Location get(int row, int col)
+    {
+        int blockIndex = (row >>> ROW_SHIFT) * blockCols + (col >>> COL_SHIFT);
+        Location[] block = (Location[]) BLOCKS.getAcquire(blocks, blockIndex);
+        if (block == null) {
+            Location[] created = new Location[1 << (ROW_SHIFT + COL_SHIFT)];
+            block = (Location[]) BLOCKS.compareAndExchange(blocks, blockIndex, null, created);
+            if (block == null) {
+                block = created;
+            }
+        }
+        int slot = ((row & ROW_MASK) << COL_SHIFT) | (col & COL_MASK);
+        Location location = (Location) SLOTS.getAcquire(block, slot);
+        if (location == null) {
+            Location created = new Location(row, col);
+            location = (Location) SLOTS.compareAndExchange(block, slot, null, created);
+            if (location == null) {
+                location = created;
+            }
+        }
+        return location;
+    }
+}
@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -42,7 +40,11 @@ public class Monkey extends Animal implements Prey
     private static final double femaleChances = 0.6;
 
     // The prey that the Monkey eats.
-    private final Class[] preysOn = {Tree.class};
+    private static final Class[] preysOn = {Tree.class};
+
+    // The descriptor of the Monkey, shared by every Monkey.
+    private static final SpeciesTraits traits = SpeciesTraits.prey(Monkey.class, activeTime, movementArea, femaleChances, foodValue, noiseValue, preysOn,
+            maxAge, breedingAge, breedingProbability, maxLitterSize);
 
     /**
      * Constructor for the Monkey object.
@@ -54,17 +56,27 @@ public class Monkey extends Animal implements Prey
      */
     public Monkey(Field field, Location location, boolean randomAge)
     {
-        super(field, location, randomAge, femaleChances, foodValue, maxAge, breedingAge, breedingProbability, maxLitterSize);
+        super(field, location, randomAge, traits);
+    }
+
+    /**
+     * Retrieves the movement area of the Monkey.
+     *
+     * @return The movement area of the Monkey.
+     */
+    public static MovementArea getMovementArea()
+    {
+        return movementArea;
     }
 
     /**
-     * Retrieves the Bounds of the Monkey.
+     * Retrieves the descriptor of the Monkey, shared by every Monkey.
      *
-     * @return The bounds of the Monkey.
+     * @return The descriptor of the Monkey.
      */
-    public static ArrayList<Bound> getBounds()
+    public static SpeciesTraits getTraits()
     {
-        return movementArea.getBounds();
+        return traits;
     }
 
     /**
@@ -75,21 +87,19 @@ public class Monkey extends Animal implements Prey
     {
         if (TimeOfDay.getInstance().getTime() == activeTime) {
             // Checks if this occurs during the active hours of the Monkey.
-            incrementAge();
-            incrementHunger();
-            if (isAlive()) {
+            if (takeTurn()) {
                 // Find a mate.
-                mate(newActors, this.getClass(), getBounds(), noiseValue);
+                mate(newActors, movementArea, noiseValue);
 
                 // Find a source of food.
                 findFood();
 
                 // Move to a free location.
-                Location newLocation = getField().freeAdjacentLocation(getLocation(), movementArea.getBounds(), 1);
+                Location newLocation = getField().freeAdjacentLocation(getLocation(), movementArea, 1);
 
                 // See if it was possible to move.
                 if (newLocation != null) {
-                    setLocation(newLocation);
+                    moveTo(newLocation, movementArea);
                 } else {
                     // Overcrowding.
                     setDamage();
@@ -106,11 +116,10 @@ public class Monkey extends Animal implements Prey
     public void findFood()
     {
         Field field = getField();
-        List<Location> adjacent = field.adjacentLocations(getLocation(), movementArea.getBounds(), preysOn, 1);
-        Iterator<Location> it = adjacent.iterator();
+        NeighbourCursor cursor = field.neighboursOfSpecies(getLocation(), movementArea, traits.getPreyMask(), 1);
         // Find Prey.
-        if (it.hasNext()) {
-            eat(field, it.next());
+        if (cursor.next()) {
+            eat(field, cursor.getLocation());
             // Eat the first instance of prey.
         }
     }
@@ -0,0 +1,70 @@
+/**
+ * Morton (Z-order) codes for grid coordinates. The bits of the row and
+ * the column are interleaved, so cells that are close together on the
+ * grid get codes that are close together, and sorting or storing by
+ * code keeps neighbourhoods together in memory.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class Morton
+{
+    /**
+     * Return the Morton code of a cell: bit i of the column becomes bit
+     * 2i of the code, and bit i of the row becomes bit 2i + 1.
+     *
+     * @param row The row of the cell, which must not be negative.
+     * @param col The column of the cell, which must not be negative.
+     * @return The Morton code of the cell.
+     */
+    public static long encode(int row, int col)
+    {
+        return (spread(row) << 1) | spread(col);
+    }
+
+    /**
+     * Spread the 32 bits of a value over the even bits of a long.
+     *
+     * @param value The value to spread.
+     * @return The spread bits.
+     */
+    public static long spread(int value)
+    {
+        long bits = value & 0xffffffffL;
+        bits = (bits | (bits << 16)) & 0x0000ffff0000ffffL;
+        bits = (bits | (bits << 8)) & 0x00ff00ff00ff00ffL;
+        bits = (bits | (bits << 4)) & 0x0f0f0f0f0f0f0f0fL;
+        bits = (bits | (bits << 2)) & 0x3333333333333333L;
+        bits = (bits | (bits << 1)) & 0x5555555555555555L;
+        return bits;
+    }
+
+    /**
+     * Gather the even bits of a long into a value, undoing spread.
+     *
+     * @param bits The spread bits, of which the odd ones are ignored.
+     * @return The value.
+     */
+    public static int compact(long bits)
+    {
+        bits &= 0x5555555555555555L;
+        bits = (bits | (bits >>> 1)) & 0x3333333333333333L;
+        bits = (bits | (bits >>> 2)) & 0x0f0f0f0f0f0f0f0fL;
+        bits = (bits | (bits >>> 4)) & 0x00ff00ff00ff00ffL;
+        bits = (bits | (bits >>> 8)) & 0x0000ffff0000ffffL;
+        bits = (bits | (bits >>> 16)) & 0x00000000ffffffffL;
+        return (int) bits;
+    }
+
+    /**
+     * Return the number of bits needed to hold the values from
+     * zero up to, but not including, a given count.
+     *
+     * @param count The number of values.
+     * @return The number of bits.
+     */
+    public static int bitsFor(int count)
+    {
+        return count <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(count - 1);
+    }
+}
@@ -1,6 +1,10 @@
 import java.util.ArrayList;
+import java.util.function.Function;
+
 /**
  * The movement bounds, defined by an arraylist of Bounds.
+ * The bounds depend on the size of the field, so each area
+ * is resolved against the ground plan of a particular field.
  *
  * This was referenced from:
  * Baeldung,Attaching Values to Java Enum, https://www.baeldung.com/java-enum-values,
@@ -10,47 +14,48 @@ import java.util.ArrayList;
  * Accessed on 2022.02.25
  *
  * @author Lavish K. Kumar 
- * @version 2022.02.25
+ * @version 2022.03.02
  */
 public enum MovementArea {
     /**
      * The designated WATER bound.
      */
-    WATER(GroundPlan.waterArea()),
+    WATER(GroundPlan::waterArea),
 
     /**
      * The designated GROUND bound.
      */
-    GROUND(GroundPlan.groundArea()),
+    GROUND(GroundPlan::groundArea),
 
     /**
      * The designated AIR bound.
      */
-    AIR(GroundPlan.wholeArea()),
+    AIR(GroundPlan::wholeArea),
 
     /**
      * The designated GROUND & WATER bound.
      */
-    GROUND_WATER(GroundPlan.groundAndWater());
+    GROUND_WATER(GroundPlan::groundAndWater);
 
-    // The bounds that the actor will move within.
-    private ArrayList<Bound> bounds;
+    // Retrieves the bounds that the actor will move within from a ground plan.
+    private final Function<GroundPlan, ArrayList<Bound>> area;
 
     /**
      * The constructor for the MovementArea ENUM.
      *
-     * @param bounds The specified locations the actors can travel within.
+     * @param area The ground plan area the actors can travel within.
      */
-    MovementArea(ArrayList<Bound> bounds){
-        this.bounds = bounds;
+    MovementArea(Function<GroundPlan, ArrayList<Bound>> area){
+        this.area = area;
     }
 
     /**
      * Retrieves a list of bounds the actor can move within.
      *
+     * @param groundPlan The ground plan of the field.
      * @return A list of bounds the actor can move within.
      */
-    public ArrayList<Bound> getBounds(){
-        return bounds;
+    public ArrayList<Bound> getBounds(GroundPlan groundPlan){
+        return area.apply(groundPlan);
     }
-}
\ No newline at end of file
+}
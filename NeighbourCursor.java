@@ -0,0 +1,282 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A reusable cursor over the cells surrounding a location in a field.
+ * The cells are visited in a random order without allocating any
+ * objects: each query picks one of a set of precomputed permutations
+ * of the row and column offsets for its search distance, instead of
+ * building and shuffling a list of locations.
+ *
+ * The field can also hand out a cursor over a set of matching cells
+ * that it has already found, for example from its occupancy bit planes.
+ * Those cells are visited in a random order by drawing the next one
+ * from the cells not yet visited.
+ *
+ * A cursor is obtained from Field.neighbours() and is reused by the
+ * next query on the same field, so it must be finished with before
+ * another query is made.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class NeighbourCursor
+{
+    // The number of precomputed offset permutations per search distance.
+    private static final int PERMUTATIONS = 64;
+
+    // The seed used to generate the permutations, kept apart from the
+    // shared randomizer so that building the tables does not disturb it.
+    private static final long PERMUTATION_SEED = 2022;
+
+    // The offset permutations, indexed by search distance. Each permutation
+    // holds the row and column offsets of every neighbouring cell in turn.
+    private static volatile int[][][] offsetTables = new int[0][][];
+
+    // A random number generator for picking a permutation.
+    private static final Random rand = Randomizer.getRandom();
+
+    // The field the cursor walks over.
+    private final Field field;
+
+    // The offsets of the current query.
+    private int[] offsets;
+
+    // The position of the next offset to be read.
+    private int position;
+
+    // The location the query is centred on.
+    private int originRow;
+    private int originCol;
+
+    // The movement area the visited cells must lie within.
+    private MovementArea area;
+
+    // The row and column of each matching cell of the current query,
+    // when walking matches.
+    private int[] matches;
+
+    // The number of matching cells, or -1 when walking the offsets.
+    private int matchCount;
+
+    // The cell the cursor is currently on.
+    private int row;
+    private int col;
+
+    /**
+     * Create a cursor over the given field.
+     *
+     * @param field The field to walk over.
+     */
+    public NeighbourCursor(Field field)
+    {
+        this.field = field;
+        offsets = new int[0];
+        matches = new int[16];
+        matchCount = -1;
+    }
+
+    /**
+     * Start a new query around the given location.
+     * The location itself is not visited.
+     *
+     * @param location       The location to visit the neighbours of.
+     * @param area           The movement area the visited cells must lie within.
+     * @param searchDistance The distance to search, relative to the location.
+     * @return This cursor.
+     */
+    public NeighbourCursor reset(Location location, MovementArea area, int searchDistance)
+    {
+        int[][] permutations = getPermutations(searchDistance);
+        offsets = permutations[rand.nextInt(PERMUTATIONS)];
+        position = 0;
+        originRow = location.getRow();
+        originCol = location.getCol();
+        this.area = area;
+        matchCount = -1;
+        return this;
+    }
+
+    /**
+     * Start a new query over a set of matching cells, which are
+     * added with addMatch() before the cursor is walked.
+     *
+     * @return This cursor.
+     */
+    public NeighbourCursor resetMatches()
+    {
+        position = 0;
+        matchCount = 0;
+        return this;
+    }
+
+    /**
+     * Add a cell to the matches of the current query.
+     *
+     * @param row The row of the matching cell.
+     * @param col The column of the matching cell.
+     */
+    public void addMatch(int row, int col)
+    {
+        if (2 * matchCount == matches.length) {
+            matches = Arrays.copyOf(matches, 2 * matches.length);
+        }
+        matches[2 * matchCount] = row;
+        matches[2 * matchCount + 1] = col;
+        matchCount++;
+    }
+
+    /**
+     * Move to the next neighbouring cell that lies within the field
+     * and the movement area of the query.
+     *
+     * @return true if the cursor moved to a cell, false if there are none left.
+     */
+    public boolean next()
+    {
+        if (matchCount >= 0) {
+            return nextMatch();
+        }
+
+        int depth = field.getDepth();
+        int width = field.getWidth();
+        while (position < offsets.length) {
+            int nextRow = originRow + offsets[position++];
+            int nextCol = originCol + offsets[position++];
+            if (nextRow >= 0 && nextRow < depth && nextCol >= 0 && nextCol < width
+                    && field.isWithinArea(area, nextRow, nextCol)) {
+                row = nextRow;
+                col = nextCol;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Move to a random one of the matching cells not yet visited.
+     *
+     * @return true if the cursor moved to a cell, false if there are none left.
+     */
+    private boolean nextMatch()
+    {
+        if (position >= matchCount) {
+            return false;
+        }
+        // One step of a Fisher-Yates shuffle, done lazily.
+        int remaining = matchCount - position;
+        if (remaining > 1) {
+            int pick = position + rand.nextInt(remaining);
+            swap(matches, 2 * pick, 2 * position);
+            swap(matches, 2 * pick + 1, 2 * position + 1);
+        }
+        row = matches[2 * position];
+        col = matches[2 * position + 1];
+        position++;
+        return true;
+    }
+
+    /**
+     * @return The row of the current cell.
+     */
+    public int getRow()
+    {
+        return row;
+    }
+
+    /**
+     * @return The column of the current cell.
+     */
+    public int getCol()
+    {
+        return col;
+    }
+
+    /**
+     * @return The actor in the current cell, or null if it is free.
+     */
+    public Object getObject()
+    {
+        return field.getObjectAt(row, col);
+    }
+
+    /**
+     * @return The location of the current cell.
+     */
+    public Location getLocation()
+    {
+        return field.getLocation(row, col);
+    }
+
+    /**
+     * Retrieves the offset permutations for a search distance,
+     * building them the first time the distance is used.
+     *
+     * @param searchDistance The search distance.
+     * @return The offset permutations for the search distance.
+     */
+    private static int[][] getPermutations(int searchDistance)
+    {
+        int[][][] tables = offsetTables;
+        if (searchDistance < tables.length && tables[searchDistance] != null) {
+            return tables[searchDistance];
+        }
+        return buildPermutations(searchDistance);
+    }
+
+    /**
+     * Builds the offset permutations for a search distance.
+     *
+     * @param searchDistance The search distance.
+     * @return The offset permutations for the search distance.
+     */
+    private static synchronized int[][] buildPermutations(int searchDistance)
+    {
+        int[][][] tables = offsetTables;
+        if (searchDistance < tables.length && tables[searchDistance] != null) {
+            return tables[searchDistance];
+        }
+
+        // Every offset within the search distance, except the location itself.
+        int side = 2 * searchDistance + 1;
+        int[] offsets = new int[2 * (side * side - 1)];
+        int next = 0;
+        for (int roffset = -searchDistance; roffset <= searchDistance; roffset++) {
+            for (int coffset = -searchDistance; coffset <= searchDistance; coffset++) {
+                if (roffset != 0 || coffset != 0) {
+                    offsets[next++] = roffset;
+                    offsets[next++] = coffset;
+                }
+            }
+        }
+
+        Random generator = new Random(PERMUTATION_SEED + searchDistance);
+        int[][] permutations = new int[PERMUTATIONS][];
+        for (int p = 0; p < PERMUTATIONS; p++) {
+            int[] permutation = offsets.clone();
+            // Fisher-Yates shuffle over the (row, column) pairs.
+            for (int i = permutation.length / 2 - 1; i > 0; i--) {
+                int j = generator.nextInt(i + 1);
+                swap(permutation, 2 * i, 2 * j);
+                swap(permutation, 2 * i + 1, 2 * j + 1);
+            }
+            permutations[p] = permutation;
+        }
+
+        int[][][] grown = new int[Math.max(tables.length, searchDistance + 1)][][];
+        System.arraycopy(tables, 0, grown, 0, tables.length);
+        grown[searchDistance] = permutations;
+        offsetTables = grown;
+        return permutations;
+    }
+
+    /**
+     * Swap two elements of an array.
+     */
+    private static void swap(int[] array, int i, int j)
+    {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+}
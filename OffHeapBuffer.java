@@ -0,0 +1,117 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A block of zeroed memory outside the Java heap, addressed by a long
+ * byte offset so that it can be larger than 2GB. The memory is held in
+ * direct byte buffers of up to 1GB each; ints and longs are read at
+ * offsets that are multiples of their size, so they never straddle two
+ * buffers. The memory is counted against the JVM's direct memory limit
+ * (-XX:MaxDirectMemorySize) rather than the heap.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class OffHeapBuffer
+{
+    // The number of bits of an offset addressing a byte within a buffer.
+    private static final int SEGMENT_SHIFT = 30;
+
+    // The mask for an offset within a buffer.
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    // Zeros copied over the memory when it is cleared.
+    private static final byte[] ZEROS = new byte[1 << 16];
+
+    // The buffers holding the memory, in order.
+    private final ByteBuffer[] segments;
+
+    // The number of bytes of memory.
+    private final long size;
+
+    /**
+     * Allocate a block of zeroed memory.
+     *
+     * @param size The number of bytes to allocate.
+     */
+    public OffHeapBuffer(long size)
+    {
+        this.size = size;
+        int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        segments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long remaining = size - ((long) i << SEGMENT_SHIFT);
+            int capacity = (int) Math.min(remaining, 1L << SEGMENT_SHIFT);
+            segments[i] = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * @return The byte at the given offset.
+     */
+    public byte getByte(long offset)
+    {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Store a byte at the given offset.
+     */
+    public void putByte(long offset, byte value)
+    {
+        segments[(int) (offset >>> SEGMENT_SHIFT)].put((int) (offset & SEGMENT_MASK), value);
+    }
+
+    /**
+     * @return The int at the given offset, which must be a multiple of 4.
+     */
+    public int getInt(long offset)
+    {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Store an int at the given offset, which must be a multiple of 4.
+     */
+    public void putInt(long offset, int value)
+    {
+        segments[(int) (offset >>> SEGMENT_SHIFT)].putInt((int) (offset & SEGMENT_MASK), value);
+    }
+
+    /**
+     * @return The long at the given offset, which must be a multiple of 8.
+     */
+    public long getLong(long offset)
+    {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Store a long at the given offset, which must be a multiple of 8.
+     */
+    public void putLong(long offset, long value)
+    {
+        segments[(int) (offset >>> SEGMENT_SHIFT)].putLong((int) (offset & SEGMENT_MASK), value);
+    }
+
+    /**
+     * Set all the memory to zero.
+     */
+    public void clear()
+    {
+        for (ByteBuffer segment : segments) {
+            int capacity = segment.capacity();
+            for (int i = 0; i < capacity; i += ZEROS.length) {
+                segment.put(i, ZEROS, 0, Math.min(ZEROS.length, capacity - i));
+            }
+        }
+    }
+
+    /**
+     * @return The number of bytes of memory.
+     */
+    public long getSize()
+    {
+        return size;
+    }
+}
@@ -0,0 +1,249 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Dense field storage kept outside the Java heap. Each cell has a kind
+ * byte, holding the species id plus one (zero for a free cell), and an
+ * int handle into a side table of actor references. The occupancy
+ * planes, including one for each gender, are off-heap as well, and the
+ * movement areas are computed from their bounds.
+ *
+ * Only the side table lives on the heap, and it is sized by the number
+ * of actors rather than the number of cells, so a large dense world adds
+ * little for the garbage collector to trace. Cells are addressed by a
+ * long index, so the field may hold more than 2^31 cells.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class OffHeapFieldStorage extends FieldStorage
+{
+    // The largest species id that fits in a kind byte.
+    private static final int MAX_SPECIES = 254;
+
+    // The bits of a kind byte holding the species id plus one.
+    private static final int SPECIES_MASK = 0xff;
+
+    // The kind byte of each cell.
+    private final OffHeapBuffer kinds;
+
+    // The handle of the actor in each cell, plus one (zero for a free cell).
+    private final OffHeapBuffer handles;
+
+    // The cells holding an actor.
+    private final OffHeapBuffer occupied;
+
+    // The cells holding an actor of each gender, indexed by the gender's ordinal.
+    private final OffHeapBuffer[] genderPlanes;
+
+    // The cells holding an actor of each species, indexed by species id.
+    private final ArrayList<OffHeapBuffer> speciesPlanes;
+
+    // The number of bytes of each plane.
+    private final long planeSize;
+
+    // The actors, indexed by handle.
+    private Object[] actors;
+
+    // The handles released by removed actors, ready for reuse.
+    private int[] freeHandles;
+
+    // The number of released handles.
+    private int freeCount;
+
+    // The lowest handle never yet used.
+    private int nextHandle;
+
+    /**
+     * Create off-heap storage for a field of the given dimensions.
+     *
+     * @param depth      The depth of the field.
+     * @param width      The width of the field.
+     * @param groundPlan The ground plan of the field.
+     */
+    public OffHeapFieldStorage(int depth, int width, GroundPlan groundPlan)
+    {
+        super(depth, width, groundPlan);
+        long cells = getSize();
+        kinds = new OffHeapBuffer(cells);
+        handles = new OffHeapBuffer(4 * cells);
+
+        planeSize = 8 * ((cells + 63) >>> 6);
+        occupied = new OffHeapBuffer(planeSize);
+        genderPlanes = new OffHeapBuffer[Gender.values().length];
+        for (int gender = 0; gender < genderPlanes.length; gender++) {
+            genderPlanes[gender] = new OffHeapBuffer(planeSize);
+        }
+        speciesPlanes = new ArrayList<>();
+
+        actors = new Object[1024];
+        freeHandles = new int[1024];
+    }
+
+    /**
+     * Return the index of a cell.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The index of the cell.
+     */
+    private long index(int row, int col)
+    {
+        return (long) row * width + col;
+    }
+
+    @Override
+    public Object get(int row, int col)
+    {
+        int handle = handles.getInt(4 * index(row, col));
+        if (handle == 0) {
+            return null;
+        }
+        return actors[handle - 1];
+    }
+
+    @Override
+    public int speciesAt(int row, int col)
+    {
+        return (kinds.getByte(index(row, col)) & SPECIES_MASK) - 1;
+    }
+
+    @Override
+    public void put(int row, int col, Object actor, int species, int gender)
+    {
+        if (species > MAX_SPECIES) {
+            throw new IllegalStateException("Too many species for off-heap storage: " + species);
+        }
+        long index = index(row, col);
+
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            handle = nextHandle++;
+            if (handle == actors.length) {
+                actors = Arrays.copyOf(actors, 2 * actors.length);
+            }
+        }
+        actors[handle] = actor;
+        handles.putInt(4 * index, handle + 1);
+        kinds.putByte(index, (byte) (species + 1));
+
+        while (speciesPlanes.size() <= species) {
+            // The first actor of this species; create its plane.
+            speciesPlanes.add(new OffHeapBuffer(planeSize));
+        }
+        setBit(speciesPlanes.get(species), index);
+        setBit(occupied, index);
+        if (gender >= 0) {
+            setBit(genderPlanes[gender], index);
+        }
+    }
+
+    @Override
+    public void remove(int row, int col, int species, int gender)
+    {
+        long index = index(row, col);
+        int handle = handles.getInt(4 * index) - 1;
+        actors[handle] = null;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, 2 * freeHandles.length);
+        }
+        freeHandles[freeCount++] = handle;
+        handles.putInt(4 * index, 0);
+        kinds.putByte(index, (byte) 0);
+
+        clearBit(speciesPlanes.get(species), index);
+        clearBit(occupied, index);
+        if (gender >= 0) {
+            clearBit(genderPlanes[gender], index);
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        kinds.clear();
+        handles.clear();
+        occupied.clear();
+        for (OffHeapBuffer plane : genderPlanes) {
+            plane.clear();
+        }
+        for (OffHeapBuffer plane : speciesPlanes) {
+            plane.clear();
+        }
+        Arrays.fill(actors, null);
+        freeCount = 0;
+        nextHandle = 0;
+    }
+
+    @Override
+    public boolean isWithinArea(MovementArea area, int row, int col)
+    {
+        return boundsContain(area, row, col);
+    }
+
+    @Override
+    public long areaBits(MovementArea area, int row, int col)
+    {
+        return boundsBits(area, row, col);
+    }
+
+    @Override
+    public long occupiedBits(int row, int col)
+    {
+        return getBits(occupied, index(row, col));
+    }
+
+    @Override
+    public long speciesBits(int species, int row, int col)
+    {
+        if (species >= speciesPlanes.size()) {
+            return 0;
+        }
+        return getBits(speciesPlanes.get(species), index(row, col));
+    }
+
+    @Override
+    public long genderBits(int gender, int row, int col)
+    {
+        return getBits(genderPlanes[gender], index(row, col));
+    }
+
+    /**
+     * Set a bit of a plane.
+     */
+    private void setBit(OffHeapBuffer plane, long index)
+    {
+        long offset = 8 * (index >>> 6);
+        plane.putLong(offset, plane.getLong(offset) | (1L << index));
+    }
+
+    /**
+     * Clear a bit of a plane.
+     */
+    private void clearBit(OffHeapBuffer plane, long index)
+    {
+        long offset = 8 * (index >>> 6);
+        plane.putLong(offset, plane.getLong(offset) & ~(1L << index));
+    }
+
+    /**
+     * Return the 64 bits of a plane starting at a given bit.
+     * Bits past the end of the plane read as zero.
+     *
+     * @param plane The plane.
+     * @param index The index of the first bit.
+     * @return The bits.
+     */
+    private long getBits(OffHeapBuffer plane, long index)
+    {
+        long offset = 8 * (index >>> 6);
+        int shift = (int) (index & 63);
+        long bits = plane.getLong(offset) >>> shift;
+        if (shift != 0 && offset + 8 < planeSize) {
+            bits |= plane.getLong(offset + 8) << (64 - shift);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,517 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Steps the actors of a field on several threads. The field is split
+ * into stripes of whole rows, and each actor is stepped with the stripe
+ * it starts the step in. An actor reaches at most REACH rows from where
+ * it starts, so the stripes are made tall enough that two stripes with
+ * one other stripe between them never touch the same cells, bit plane
+ * words or blocks of locations. The even stripes are stepped together,
+ * and then the odd ones, each stripe by one thread and in the order its
+ * actors were listed.
+ *
+ * The actors are rarely spread evenly over the field, nor do they all
+ * cost the same to step, so the stripes of each phase are handed to the
+ * threads in runs of about the same cost rather than the same number of
+ * stripes. The time each stripe takes is measured, and every few steps
+ * the runs are drawn again from the times since they were last drawn.
+ * Different species are active by day and by night, so the runs are
+ * kept, and drawn, for each time of day apart.
+ * Which thread steps a stripe has no effect on the result. The time
+ * each thread spends busy and idle is kept so that the balance can be
+ * checked.
+ *
+ * Each stripe draws its random numbers from a generator seeded for the
+ * step and the stripe, and keeps its newborns apart until the end of
+ * the step, when they are added after the survivors in stripe order.
+ * The newborns of a stripe take their ids from a sequence of its own,
+ * and the changes a stripe makes to state it shares with other stripes,
+ * such as a disease mutating, are kept back until the end of the step
+ * and then made in stripe order. So a run gives the same result on any
+ * number of threads, although a different one from the single-threaded
+ * step, which visits the actors in another order.
+ *
+ * The population counters are updated by several threads without
+ * locking during a step, and are counted afresh at the end of it.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class ParallelStepEngine
+{
+    // The furthest, in rows or columns, an actor reaches from the cell
+    // it starts a step in: a monkey looks four cells away for a mate.
+    public static final int REACH = 4;
+
+    // The number of steps between drawing the runs of stripes again, by default.
+    private static final int DEFAULT_REBALANCE_INTERVAL = 4;
+
+    // The field whose actors are stepped.
+    private final Field field;
+
+    // The threads stepping the stripes.
+    private final ForkJoinPool pool;
+
+    // The number of threads.
+    private final int threads;
+
+    // The first row of each stripe, and the depth of the field after them.
+    private final int[] stripeStarts;
+
+    // The stripe of each row.
+    private final int[] rowStripes;
+
+    // The actors starting the current step in each stripe.
+    private final List<List<Actor>> stripeActors;
+
+    // The actors born in each stripe during the current step.
+    private final List<List<Actor>> stripeNewborns;
+
+    // The changes to shared state made in each stripe during the current step.
+    private final List<List<Runnable>> stripeChanges;
+
+    // The number of ids handed out in each stripe during the current step.
+    private final int[] stripeIdCounts;
+
+    // The id of the first actor born in the current step.
+    private long firstId;
+
+    // For each time of day, and then the even and the odd stripes, the
+    // first stripe of each thread's run, followed by the stripe count.
+    private final int[][][] runStarts;
+
+    // The time, in nanoseconds, each stripe took in the last step.
+    private final long[] stripeTimes;
+
+    // For each time of day, the time, in nanoseconds, each stripe has
+    // taken since the runs were drawn.
+    private final long[][] stripeCosts;
+
+    // The number of steps between drawing the runs again, or 0 to keep them.
+    private int rebalanceInterval;
+
+    // The number of steps since the runs were drawn.
+    private int stepsSinceRebalance;
+
+    // The threads the pool has started.
+    private final List<StepWorker> workers;
+
+    // The time, in nanoseconds, spent stepping stripes since the times were reset.
+    private long elapsedTime;
+
+    // The generator the seed of each step is drawn from.
+    private final Random rand = Randomizer.getRandom();
+
+    /**
+     * Create an engine stepping the actors of a field on the given
+     * number of threads.
+     *
+     * @param field   The field whose actors are stepped.
+     * @param threads The number of threads, at least one.
+     * @throws IllegalArgumentException if the field's storage cannot be
+     *         changed in separate rows by separate threads.
+     */
+    public ParallelStepEngine(Field field, int threads)
+    {
+        if (!field.getStorage().isRowPartitionable()) {
+            throw new IllegalArgumentException("Field storage cannot be stepped in parallel: "
+                    + field.getStorage().getClass().getName());
+        }
+        this.field = field;
+        this.threads = Math.max(threads, 1);
+        workers = new CopyOnWriteArrayList<>();
+        pool = new ForkJoinPool(this.threads, pool -> {
+            StepWorker worker = new StepWorker(pool);
+            workers.add(worker);
+            return worker;
+        }, null, false);
+
+        int height = getStripeHeight(field.getWidth());
+        int stripes = Math.max(field.getDepth() / height, 1);
+        stripeStarts = new int[stripes + 1];
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            stripeStarts[stripe] = stripe * height;
+        }
+        stripeStarts[stripes] = field.getDepth();
+        rowStripes = new int[field.getDepth()];
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            for (int row = stripeStarts[stripe]; row < stripeStarts[stripe + 1]; row++) {
+                rowStripes[row] = stripe;
+            }
+        }
+
+        stripeActors = new ArrayList<>();
+        stripeNewborns = new ArrayList<>();
+        stripeChanges = new ArrayList<>();
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            stripeActors.add(new ArrayList<>());
+            stripeNewborns.add(new ArrayList<>());
+            stripeChanges.add(new ArrayList<>());
+        }
+        stripeIdCounts = new int[stripes];
+
+        // Start with runs of the same number of stripes.
+        stripeTimes = new long[stripes];
+        stripeCosts = new long[Time.values().length][stripes];
+        runStarts = new int[Time.values().length][2][];
+        for (Time time : Time.values()) {
+            Arrays.fill(stripeCosts[time.ordinal()], 1);
+            drawRuns(time);
+        }
+        rebalanceInterval = DEFAULT_REBALANCE_INTERVAL;
+        field.setParallel(true);
+    }
+
+    /**
+     * Return the height of the stripes for a field of the given width.
+     * The cells reached from two stripes with a stripe between them
+     * must be in different blocks of the location table, so the stripes
+     * are a whole number of blocks with at least REACH rows of a block
+     * either side of the middle of a stripe. The rows between the cells
+     * reached must hold at least 64 cells, so that no bit plane word
+     * holds cells of both.
+     *
+     * @param width The width of the field.
+     * @return The number of rows in a stripe.
+     */
+    public static int getStripeHeight(int width)
+    {
+        int blocks = (REACH + LocationTable.BLOCK_ROWS) / LocationTable.BLOCK_ROWS;
+        int height = 2 * blocks * LocationTable.BLOCK_ROWS;
+        while ((long) (height - 2 * REACH) * width < 64) {
+            height += LocationTable.BLOCK_ROWS;
+        }
+        return height;
+    }
+
+    /**
+     * Step the actors once. The survivors are left in the list in
+     * stripe order, followed by the newborns.
+     *
+     * @param actors The actors to step, in the order to step them.
+     */
+    public void step(List<Actor> actors)
+    {
+        for (Actor actor : actors) {
+            if (actor.isAlive()) {
+                stripeActors.get(rowStripes[actor.getLocation().getRow()]).add(actor);
+            }
+        }
+
+        Time time = TimeOfDay.getInstance().getTime();
+        int[][] runs = runStarts[time.ordinal()];
+        long seed = rand.nextLong();
+        firstId = field.getNextActorId();
+        long start = System.nanoTime();
+        pool.invoke(new PhaseTask(0, runs[0], seed));
+        pool.invoke(new PhaseTask(1, runs[1], seed));
+        elapsedTime += System.nanoTime() - start;
+
+        // Make the changes the stripes kept back, and skip the ids they handed out.
+        int mostIds = 0;
+        for (int stripe = 0; stripe < stripeChanges.size(); stripe++) {
+            List<Runnable> changes = stripeChanges.get(stripe);
+            for (Runnable change : changes) {
+                change.run();
+            }
+            changes.clear();
+            mostIds = Math.max(mostIds, stripeIdCounts[stripe]);
+        }
+        field.skipActorIds((long) mostIds * stripeChanges.size());
+
+        long[] costs = stripeCosts[time.ordinal()];
+        for (int stripe = 0; stripe < costs.length; stripe++) {
+            costs[stripe] += stripeTimes[stripe];
+        }
+        stepsSinceRebalance++;
+        if (rebalanceInterval > 0 && stepsSinceRebalance >= rebalanceInterval) {
+            for (Time measured : Time.values()) {
+                drawRuns(measured);
+            }
+            stepsSinceRebalance = 0;
+        }
+
+        actors.clear();
+        for (List<Actor> stripe : stripeActors) {
+            addLiving(stripe, actors);
+            stripe.clear();
+        }
+        for (List<Actor> newborns : stripeNewborns) {
+            addLiving(newborns, actors);
+            newborns.clear();
+        }
+        field.recountPopulation();
+    }
+
+    /**
+     * Split the even and the odd stripes each into one run per thread,
+     * so that the runs took about the same time at a time of day since
+     * they were last drawn. Every run has at least one stripe. The runs
+     * are kept if no step has been taken at the time of day since.
+     *
+     * @param time The time of day.
+     */
+    private void drawRuns(Time time)
+    {
+        long[] costs = stripeCosts[time.ordinal()];
+        int stripes = getStripeCount();
+        long measured = 0;
+        for (long cost : costs) {
+            measured += cost;
+        }
+        if (measured == 0) {
+            return;
+        }
+
+        for (int phase = 0; phase < 2; phase++) {
+            // The stripes of the phase are phase, phase + 2, ...
+            int count = (stripes - phase + 1) / 2;
+            int runs = Math.min(threads, count);
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += costs[phase + 2 * i];
+            }
+
+            int[] starts = new int[runs + 1];
+            int run = 1;
+            long cost = 0;
+            for (int i = 0; i < count && run < runs; i++) {
+                cost += costs[phase + 2 * i];
+                // Close the run once it holds its share of the total, or
+                // once the stripes left are only enough for a stripe a run.
+                if (cost * runs >= total * run || count - (i + 1) == runs - run) {
+                    starts[run++] = i + 1;
+                }
+            }
+            starts[runs] = count;
+            runStarts[time.ordinal()][phase] = starts;
+        }
+        Arrays.fill(costs, 0);
+    }
+
+    /**
+     * Sets the number of steps between handing out the stripes to the
+     * threads again, from the time the stripes took.
+     *
+     * @param interval The number of steps, or 0 to keep the runs as they are.
+     */
+    public void setRebalanceInterval(int interval)
+    {
+        rebalanceInterval = Math.max(interval, 0);
+    }
+
+    /**
+     * @return The number of steps between handing out the stripes again, or 0 if they are kept.
+     */
+    public int getRebalanceInterval()
+    {
+        return rebalanceInterval;
+    }
+
+    /**
+     * @return The time, in nanoseconds, each stripe took in the last step.
+     */
+    public long[] getStripeTimes()
+    {
+        return stripeTimes.clone();
+    }
+
+    /**
+     * Return the first stripe of each thread's run in a phase at a time
+     * of day, counted among the stripes of the phase, followed by the
+     * number of them.
+     *
+     * @param time  The time of day.
+     * @param phase 0 for the even stripes, 1 for the odd ones.
+     * @return The starts of the runs.
+     */
+    public int[] getRunStarts(Time time, int phase)
+    {
+        return runStarts[time.ordinal()][phase].clone();
+    }
+
+    /**
+     * @return The time, in nanoseconds, spent stepping stripes since the times were reset.
+     */
+    public long getElapsedTime()
+    {
+        return elapsedTime;
+    }
+
+    /**
+     * Return the time each thread has spent stepping stripes since the
+     * times were reset. A thread is idle for the rest of the elapsed time.
+     *
+     * @return The busy time, in nanoseconds, of each thread the pool has started.
+     */
+    public long[] getBusyTimes()
+    {
+        long[] busy = new long[workers.size()];
+        for (int i = 0; i < busy.length; i++) {
+            busy[i] = workers.get(i).getBusyTime();
+        }
+        return busy;
+    }
+
+    /**
+     * Return the time each thread has spent idle, waiting for the other
+     * threads to finish their runs, since the times were reset.
+     *
+     * @return The idle time, in nanoseconds, of each thread the pool has started.
+     */
+    public long[] getIdleTimes()
+    {
+        long[] idle = getBusyTimes();
+        for (int i = 0; i < idle.length; i++) {
+            idle[i] = Math.max(elapsedTime - idle[i], 0);
+        }
+        return idle;
+    }
+
+    /**
+     * Start timing the threads afresh.
+     */
+    public void resetTimes()
+    {
+        elapsedTime = 0;
+        for (StepWorker worker : workers) {
+            worker.resetBusyTime();
+        }
+    }
+
+    /**
+     * Add the living actors of one list to another.
+     */
+    private static void addLiving(List<Actor> from, List<Actor> to)
+    {
+        for (Actor actor : from) {
+            if (actor.isAlive()) {
+                to.add(actor);
+            }
+        }
+    }
+
+    /**
+     * @return The number of threads stepping the actors.
+     */
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    /**
+     * @return The number of stripes the field is split into.
+     */
+    public int getStripeCount()
+    {
+        return stripeStarts.length - 1;
+    }
+
+    /**
+     * Stop the threads, and leave the field to be stepped by one thread.
+     */
+    public void shutdown()
+    {
+        pool.shutdown();
+        field.setParallel(false);
+    }
+
+    /**
+     * Step the stripes of a phase, each thread's run as a task of its own.
+     */
+    private class PhaseTask extends RecursiveAction
+    {
+        // The version of the serialized form of the task.
+        private static final long serialVersionUID = 1L;
+
+        // 0 for the even stripes, 1 for the odd ones.
+        private final int phase;
+
+        // The first stripe of each run, counted among the stripes of the phase.
+        private final int[] starts;
+
+        // The seed of the step.
+        private final long seed;
+
+        /**
+         * Create a task stepping the stripes of a phase.
+         *
+         * @param phase  0 for the even stripes, 1 for the odd ones.
+         * @param starts The first stripe of each run, followed by the stripe count.
+         * @param seed   The seed of the step.
+         */
+        PhaseTask(int phase, int[] starts, long seed)
+        {
+            this.phase = phase;
+            this.starts = starts;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute()
+        {
+            RunTask[] runs = new RunTask[starts.length - 1];
+            for (int run = 0; run < runs.length; run++) {
+                runs[run] = new RunTask(phase + 2 * starts[run], phase + 2 * starts[run + 1], seed);
+            }
+            invokeAll(runs);
+        }
+    }
+
+    /**
+     * Step a run of every other stripe on one thread.
+     */
+    private class RunTask extends RecursiveAction
+    {
+        // The version of the serialized form of the task.
+        private static final long serialVersionUID = 1L;
+
+        // The first stripe of the run.
+        private final int from;
+
+        // The stripe after the last stripe of the run.
+        private final int to;
+
+        // The seed of the step.
+        private final long seed;
+
+        /**
+         * Create a task stepping every other stripe in a range.
+         *
+         * @param from The first stripe to step.
+         * @param to   The stripe after the last one to step.
+         * @param seed The seed of the step.
+         */
+        RunTask(int from, int to, long seed)
+        {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute()
+        {
+            StepWorker worker = (StepWorker) Thread.currentThread();
+            for (int stripe = from; stripe < to; stripe += 2) {
+                long start = System.nanoTime();
+                worker.getRandom().setSeed(IntentBuffer.mix(seed + stripe));
+                worker.beginStripe(firstId + stripe, getStripeCount(), stripeChanges.get(stripe));
+                List<Actor> newborns = stripeNewborns.get(stripe);
+                for (Actor actor : stripeActors.get(stripe)) {
+                    actor.act(newborns);
+                }
+                stripeIdCounts[stripe] = worker.endStripe();
+                long time = System.nanoTime() - start;
+                stripeTimes[stripe] = time;
+                worker.addBusyTime(time);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * A pseudo-random permutation of the numbers from 0 to size - 1,
+ * computed one number at a time and never stored. Each number is
+ * enciphered by a four-round Feistel network over the smallest power
+ * of two holding the size, and enciphered again until it falls below
+ * the size; as the network is a bijection, so is the permutation.
+ * The power of two is less than twice the size, so on average fewer
+ * than two rounds of the network are needed for each number.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class Permutation
+{
+    // The number of rounds of the Feistel network.
+    private static final int ROUNDS = 4;
+
+    // The key of each round.
+    private final int[] keys;
+
+    // The number of numbers permuted.
+    private int size;
+
+    // The number of bits of the network's input; the left half has the extra bit when it is odd.
+    private int leftBits, rightBits;
+
+    /**
+     * Create the permutation of no numbers.
+     */
+    public Permutation()
+    {
+        keys = new int[ROUNDS];
+    }
+
+    /**
+     * Start a new permutation.
+     *
+     * @param size The number of numbers permuted.
+     * @param seed The seed the permutation is drawn from.
+     */
+    public void reset(int size, long seed)
+    {
+        this.size = size;
+        int bits = Math.max(2, Morton.bitsFor(size));
+        rightBits = bits / 2;
+        leftBits = bits - rightBits;
+        for (int round = 0; round < ROUNDS; round++) {
+            keys[round] = (int) IntentBuffer.mix(seed + round);
+        }
+    }
+
+    /**
+     * @return The number of numbers permuted.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Return the number at a place in the permutation.
+     *
+     * @param index The place, from 0 to size - 1.
+     * @return The number at the place.
+     */
+    public int get(int index)
+    {
+        int value = index;
+        do {
+            value = encipher(value);
+        } while (value >= size);
+        return value;
+    }
+
+    /**
+     * Encipher a number of the network's width. Each round mixes the
+     * right part into the left and swaps the parts, whose widths differ
+     * by at most one bit.
+     *
+     * @param value The number.
+     * @return The enciphered number.
+     */
+    private int encipher(int value)
+    {
+        int left = value >>> rightBits;
+        int right = value & ((1 << rightBits) - 1);
+        int leftWidth = leftBits;
+        int rightWidth = rightBits;
+        for (int round = 0; round < ROUNDS; round++) {
+            int mixed = left ^ (scramble(right ^ keys[round]) & ((1 << leftWidth) - 1));
+            left = right;
+            right = mixed;
+            int width = leftWidth;
+            leftWidth = rightWidth;
+            rightWidth = width;
+        }
+        return (left << rightWidth) | right;
+    }
+
+    /**
+     * Scramble the bits of a number.
+     *
+     * @param value The number.
+     * @return The scrambled number.
+     */
+    private static int scramble(int value)
+    {
+        value *= 0x9e3779b1;
+        value ^= value >>> 15;
+        value *= 0x85ebca77;
+        return value ^ (value >>> 13);
+    }
+}
@@ -20,17 +20,23 @@ public abstract class Plant extends Actor
      * @param field               The field in which the Plant is placed.
      * @param location            The location of the Plant in the field.
      * @param randomAge           Whether the Plant will be assigned a random age.
-     * @param gender              The gender of the Plant.
-     * @param nutritionalValue    The nutritional value the Plant provides to other actors.
-     * @param maxAge              The maximum age of the Plant.
-     * @param breedingAge         The age at which the Plant can breed.
-     * @param breedingProbability The chances of the Plant breeding.
-     * @param maxLitterSize       The maximum number of offspring the Plant can have.
+     * @param species             The descriptor of the Plant's species, holding its gender and
+     *                            the nutritional value a new Plant provides to other actors.
      */
-    public Plant(Field field, Location location, boolean randomAge, Gender gender, int nutritionalValue, int maxAge, int breedingAge, double breedingProbability, int maxLitterSize)
+    public Plant(Field field, Location location, boolean randomAge, SpeciesTraits species)
     {
-        super(field, location, randomAge, gender, maxAge, breedingAge, breedingProbability, maxLitterSize);
-        this.nutritionalValue = nutritionalValue;
+        super(field, location, randomAge, species.getGender(), species);
+        this.nutritionalValue = species.getNutritionalValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reuse(Field field, Location location, boolean randomAge)
+    {
+        born(field, location, randomAge, getSpecies().getGender());
+        this.nutritionalValue = getSpecies().getNutritionalValue();
     }
 
     /**
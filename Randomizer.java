@@ -13,8 +13,9 @@ public class Randomizer
     // The default seed for control of randomization.
     private static final int SEED = 1111;
 
-    // A shared Random object, if required.
-    private static final Random rand = new Random(SEED);
+    // A shared Random object, if required. Actors stepped in parallel
+    // draw from a generator of their worker's instead.
+    private static final Random rand = new SharedRandom(SEED);
 
     // Determine whether a shared random generator is to be provided.
     private static final boolean useShared = true;
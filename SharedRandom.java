@@ -0,0 +1,45 @@
+import java.util.Random;
+
+/**
+ * The random generator shared by the whole simulation. On a step worker
+ * thread the numbers are drawn from the worker's own generator instead,
+ * which is seeded for the part of the field the worker is stepping, so
+ * a parallel step draws the same numbers whichever thread runs each part.
+ * On any other thread this behaves exactly as a Random with the same seed.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class SharedRandom extends Random
+{
+    // The version of the serialized form of the generator.
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create a shared generator with the given seed.
+     *
+     * @param seed The seed of the generator.
+     */
+    public SharedRandom(long seed)
+    {
+        super(seed);
+    }
+
+    /**
+     * Generate the next random bits, from the worker's generator on a
+     * step worker thread. Every method of Random draws its bits from
+     * here. The top bits of nextInt() are the bits next() would give.
+     *
+     * @param bits The number of random bits.
+     * @return The random bits.
+     */
+    @Override
+    protected int next(int bits)
+    {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof StepWorker) {
+            return ((StepWorker) thread).getRandom().nextInt() >>> (32 - bits);
+        }
+        return super.next(bits);
+    }
+}
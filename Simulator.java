@@ -1,8 +1,10 @@
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.IntConsumer;
 
 /**
  * A simple predator-prey simulator, based on a rectangular field
@@ -43,8 +45,20 @@ public class Simulator
     // The initial disease spread probability.
     private static final double INITIAL_DISEASE_SPREAD = 0.15;
 
-    // List of actors in the field.
-    private final List<Actor> actors;
+    // The number of steps at a time of day between sorts of its actors into Z-order, unless set otherwise.
+    private static final int DEFAULT_SORT_INTERVAL = 0;
+
+    // The actors in the field, in a bucket for each time of day, holding those active at that time.
+    private final List<List<Actor>> buckets;
+
+    // The last step in which each bucket was active.
+    private final int[] lastActiveSteps;
+
+    // The time of day at which each species in the field is active.
+    private final HashMap<Class, Time> activeTimes;
+
+    // How each species of plant regrows while it sleeps, given the number of its plants times the steps they slept.
+    private final HashMap<Class, IntConsumer> regrowth;
 
     // List of animals in the field.
     private final List<Animal> animals;
@@ -58,6 +72,28 @@ public class Simulator
     private final Random rand = Randomizer.getRandom();
     // The current step of the simulation.
     private int step;
+    // Whether each step is run synchronously, with every actor seeing the field as it was when the step began.
+    private boolean synchronous;
+    // The engine stepping the actors on several threads, or null to step them on this one.
+    private ParallelStepEngine engine;
+    // The pipeline running the phases of a synchronous step.
+    private final StepPipeline pipeline;
+    // The sort putting the actors into Z-order of their locations.
+    private final ZOrderSort zOrder;
+    // The number of steps at a time of day between sorts of its actors into Z-order, or 0 not to sort them.
+    private int sortInterval = DEFAULT_SORT_INTERVAL;
+    // The order the actors act in when they are stepped on the calling thread.
+    private ActivationOrder activationOrder = ActivationOrder.IN_ORDER;
+    // The number of actors in each block of a permuted activation order.
+    private int activationBlock = 1;
+    // The seed the activation order of each step is drawn from.
+    private long activationSeed;
+    // The permutation of the blocks of the list, for a permuted activation order.
+    private final Permutation permutation = new Permutation();
+    // The engine stepping the actors kept in columns, or null if they are kept as objects.
+    private ColumnEngine columns;
+    // The pool of dead actors kept for reuse, or null if dead actors are left to the garbage collector.
+    private ActorPool pool;
     // Boolean variables which control whether the actors will be shown in the simulation or not.
     private boolean viewSloths = true, viewMonkeys = true, viewFishes = true, viewJaguars = true, viewTrees = true, viewAlgae = true, viewEagles = true;
 
@@ -76,6 +112,18 @@ public class Simulator
      * @param width Width of the field. Must be greater than zero.
      */
     public Simulator(int depth, int width)
+    {
+        this(depth, width, null);
+    }
+
+    /**
+     * Create a simulation field with the given size and layout.
+     *
+     * @param depth  Depth of the field. Must be greater than zero.
+     * @param width  Width of the field. Must be greater than zero.
+     * @param layout The layout of the field's storage, or null to choose one from its size.
+     */
+    public Simulator(int depth, int width, FieldLayout layout)
     {
         if (width <= 0 || depth <= 0) {
             System.out.println("The dimensions must be greater than zero.");
@@ -84,11 +132,24 @@ public class Simulator
             width = DEFAULT_WIDTH;
         }
 
-        actors = new ArrayList<>();
+        buckets = new ArrayList<>();
+        for (Time time : Time.values()) {
+            buckets.add(new ArrayList<>());
+        }
+        lastActiveSteps = new int[Time.values().length];
+        activeTimes = new HashMap<>();
+        regrowth = new HashMap<>();
+        regrowth.put(Tree.class, Tree::regrow);
+        regrowth.put(Algae.class, Algae::regrow);
         animals = new ArrayList<>();
         plants = new ArrayList<>();
-        field = new Field(depth, width);
-        
+        if (layout == null) {
+            layout = FieldLayout.forSize(depth, width);
+        }
+        field = new Field(depth, width, layout);
+        pipeline = new StepPipeline(field);
+        zOrder = new ZOrderSort(depth, width);
+
         // Setup a valid starting point.
         reset();
     }
@@ -102,27 +163,27 @@ public class Simulator
 
         for (int row = 0; row < field.getDepth(); row++) {
             for (int col = 0; col < field.getWidth(); col++) {
-                Location location = new Location(row, col);
                 Actor actor = null;
-                if (this.viewSloths && rand.nextDouble() <= SLOTH_CREATION_PROBABILITY && Bound.isWithinBound(location, Sloth.getBounds())) {
-                    actor = new Sloth(field, location, true);
-                } else if (this.viewMonkeys && rand.nextDouble() <= MONKEY_CREATION_PROBABILITY && Bound.isWithinBound(location, Monkey.getBounds())) {
-                    actor = new Monkey(field, location, true);
-                } else if (this.viewJaguars && rand.nextDouble() <= JAGUAR_CREATION_PROBABILITY && Bound.isWithinBound(location, Jaguar.getBounds())) {
-                    actor = new Jaguar(field, location, true);
-                } else if (this.viewFishes && rand.nextDouble() <= FISH_CREATION_PROBABILITY && Bound.isWithinBound(location, Fish.getBounds())) {
-                    actor = new Fish(field, location, true);
-                } else if (this.viewEagles && rand.nextDouble() <= EAGLE_CREATION_PROBABILITY && Bound.isWithinBound(location, Eagle.getBounds())) {
-                    actor = new Eagle(field, location, true);
-                } else if (this.viewTrees && rand.nextDouble() <= TREE_CREATION_PROBABILITY && Bound.isWithinBound(location, Tree.getBounds())) {
-                    actor = new Tree(field, location, true);
-                } else if (this.viewAlgae && rand.nextDouble() <= ALGAE_CREATION_PROBABILITY && Bound.isWithinBound(location, Algae.getBounds())) {
-                    actor = new Algae(field, location, true);
+                if (this.viewSloths && rand.nextDouble() <= SLOTH_CREATION_PROBABILITY && field.isWithinArea(Sloth.getMovementArea(), row, col)) {
+                    actor = create(Sloth.class, field.getLocation(row, col));
+                } else if (this.viewMonkeys && rand.nextDouble() <= MONKEY_CREATION_PROBABILITY && field.isWithinArea(Monkey.getMovementArea(), row, col)) {
+                    actor = create(Monkey.class, field.getLocation(row, col));
+                } else if (this.viewJaguars && rand.nextDouble() <= JAGUAR_CREATION_PROBABILITY && field.isWithinArea(Jaguar.getMovementArea(), row, col)) {
+                    actor = create(Jaguar.class, field.getLocation(row, col));
+                } else if (this.viewFishes && rand.nextDouble() <= FISH_CREATION_PROBABILITY && field.isWithinArea(Fish.getMovementArea(), row, col)) {
+                    actor = create(Fish.class, field.getLocation(row, col));
+                } else if (this.viewEagles && rand.nextDouble() <= EAGLE_CREATION_PROBABILITY && field.isWithinArea(Eagle.getMovementArea(), row, col)) {
+                    actor = create(Eagle.class, field.getLocation(row, col));
+                } else if (this.viewTrees && rand.nextDouble() <= TREE_CREATION_PROBABILITY && field.isWithinArea(Tree.getMovementArea(), row, col)) {
+                    actor = create(Tree.class, field.getLocation(row, col));
+                } else if (this.viewAlgae && rand.nextDouble() <= ALGAE_CREATION_PROBABILITY && field.isWithinArea(Algae.getMovementArea(), row, col)) {
+                    actor = create(Algae.class, field.getLocation(row, col));
                 }
                 
                 if (actor != null) {
-                    // add to the actors list.
-                    actors.add(actor);
+                    // add to the bucket of the time it is active at.
+                    buckets.get(actor.getActiveTime().ordinal()).add(actor);
+                    activeTimes.put(actor.getClass(), actor.getActiveTime());
                 }
                 if (actor instanceof Animal) {
                     // add to the animals list.
@@ -135,6 +196,43 @@ public class Simulator
             }
         }
     }
+
+    /**
+     * Create an actor of a species with a random age, or add it to the
+     * columns if the actors are kept in columns.
+     *
+     * @param species  The class of the species.
+     * @param location The location of the actor.
+     * @return The actor, or null if it was added to the columns.
+     */
+    private Actor create(Class species, Location location)
+    {
+        if (columns != null) {
+            columns.create(species, location, true);
+            activeTimes.put(species, columns.getTraits(species).getActiveTime());
+            return null;
+        }
+        Actor actor = pool == null ? null : pool.take(SpeciesRegistry.ordinalOf(species));
+        if (actor != null) {
+            actor.reuse(field, location, true);
+            return actor;
+        }
+        if (species == Sloth.class) {
+            return new Sloth(field, location, true);
+        } else if (species == Monkey.class) {
+            return new Monkey(field, location, true);
+        } else if (species == Jaguar.class) {
+            return new Jaguar(field, location, true);
+        } else if (species == Fish.class) {
+            return new Fish(field, location, true);
+        } else if (species == Eagle.class) {
+            return new Eagle(field, location, true);
+        } else if (species == Tree.class) {
+            return new Tree(field, location, true);
+        } else {
+            return new Algae(field, location, true);
+        }
+    }
     
     /**
      * Sets whether sloths should be shown in the simulation.
@@ -209,6 +307,10 @@ public class Simulator
      */
     public void populateDisease(Disease disease)
     {
+        if (columns != null) {
+            columns.populateDisease(disease, INITIAL_DISEASE_SPREAD);
+            return;
+        }
         // The numbers of actors to affect.
         int numberToAffect = 0;
 
@@ -217,6 +319,10 @@ public class Simulator
 
             int animalsSize = animals.size();
             numberToAffect = (int) (animalsSize * INITIAL_DISEASE_SPREAD);
+            if (numberToAffect == 0) {
+                // Too few animals for the spread to reach any.
+                return;
+            }
             int incrementValue = animalsSize / numberToAffect;
             // Retrieve the interval to affect.
 
@@ -229,6 +335,10 @@ public class Simulator
         } else if(disease.getAffectedActor() == AffectedActor.PLANT){
             int plantSize = plants.size();
             numberToAffect = (int) (plants.size() * INITIAL_DISEASE_SPREAD);
+            if (numberToAffect == 0) {
+                // Too few plants for the spread to reach any.
+                return;
+            }
             int incrementValue = plantSize / numberToAffect;
             // Retrieve the interval to affect.
 
@@ -262,39 +372,356 @@ public class Simulator
         }
     }
 
+    /**
+     * Sets whether steps are run synchronously. In a synchronous step
+     * every actor sees the field as it was when the step began, and the
+     * moves, births and deaths are applied together at the end of the
+     * step, with collisions resolved the same way whatever order the
+     * actors act in. A synchronous step is run by the step pipeline,
+     * one phase at a time. Otherwise each actor sees the moves of the
+     * actors that acted before it in the same step, as it always has.
+     *
+     * @param synchronous Whether steps are run synchronously.
+     */
+    public void setSynchronous(boolean synchronous)
+    {
+        this.synchronous = synchronous;
+        attachPool();
+    }
+
+    /**
+     * @return Whether steps are run synchronously.
+     */
+    public boolean isSynchronous()
+    {
+        return synchronous;
+    }
+
+    /**
+     * @return The pipeline running the phases of a synchronous step, and timing them.
+     */
+    public StepPipeline getPipeline()
+    {
+        return pipeline;
+    }
+
+    /**
+     * Sets how often the actors stepped on the calling thread are sorted
+     * into Z-order of their locations, so that actors stepped one after
+     * another are close together in the field. Newborns are added at the
+     * end of the list, so the order decays between sorts. The order the
+     * sorted actors act in is set by the activation order, so that no
+     * part of the field always acts first. Sorting changes which actors
+     * act first, and so the outcome of a seeded run, so the actors are
+     * not sorted unless this is set.
+     *
+     * @param interval The number of steps at a time of day between sorts, or 0 not to sort.
+     */
+    public void setSortInterval(int interval)
+    {
+        this.sortInterval = interval;
+    }
+
+    /**
+     * @return The number of steps at a time of day between sorts into Z-order, or 0 if the actors are not sorted.
+     */
+    public int getSortInterval()
+    {
+        return sortInterval;
+    }
+
+    /**
+     * Sets the order the actors act in when they are stepped on
+     * the calling thread. The order of each step is drawn from the seed
+     * and the step, without shuffling the list or storing the order.
+     * The actors act in the order of the list unless this is set, as
+     * they always have; the other orders change the outcome of a run.
+     *
+     * @param order     The activation order.
+     * @param blockSize The number of actors in each block of a permuted order, at least 1.
+     * @param seed      The seed the order of each step is drawn from.
+     */
+    public void setActivationOrder(ActivationOrder order, int blockSize, long seed)
+    {
+        this.activationOrder = order;
+        this.activationBlock = Math.max(1, blockSize);
+        this.activationSeed = seed;
+    }
+
+    /**
+     * @return The order the actors act in when they are stepped on the calling thread.
+     */
+    public ActivationOrder getActivationOrder()
+    {
+        return activationOrder;
+    }
+
+    /**
+     * Sets whether the actors are kept in columns of primitives, indexed
+     * by a dense actor id, rather than as an object each, and stepped by
+     * the column engine. The engine gives the same populations as the
+     * actor objects stepped on the calling thread, with the same sort
+     * interval and activation order, diseases included; it takes the
+     * place of the synchronous steps and the parallel engine. The
+     * simulation is reset, as the actors are made afresh.
+     *
+     * @param columnar Whether the actors are kept in columns.
+     */
+    public void setColumnar(boolean columnar)
+    {
+        if (!columnar) {
+            columns = null;
+        } else if (columns == null) {
+            columns = new ColumnEngine(field);
+        }
+        reset();
+    }
+
+    /**
+     * @return The engine stepping the actors kept in columns, or null if they are kept as objects.
+     */
+    public ColumnEngine getColumnEngine()
+    {
+        return columns;
+    }
+
+    /**
+     * Sets whether dead actors are kept in a pool for each species and
+     * brought back to life as newborns, rather than left to the garbage
+     * collector. Dead actors are pooled, and newborns taken from the
+     * pool, only in steps run on the calling thread without the
+     * synchronous pipeline; a reset pools every actor of the field and
+     * takes the new population from the pool. The populations are the
+     * same with or without the pool.
+     *
+     * @param cap The most dead actors kept for each species, or 0 not to pool them.
+     */
+    public void setPooling(int cap)
+    {
+        pool = cap > 0 ? new ActorPool(cap) : null;
+        attachPool();
+    }
+
+    /**
+     * @return The pool of dead actors kept for reuse, or null if they are not pooled.
+     */
+    public ActorPool getPool()
+    {
+        return pool;
+    }
+
+    /**
+     * Let the field's newborns be taken from the pool when the steps
+     * are run on the calling thread and not synchronously, the only
+     * steps in which dead actors are given back to it.
+     */
+    private void attachPool()
+    {
+        field.setPool(synchronous || engine != null ? null : pool);
+    }
+
+    /**
+     * Sets the number of threads the actors are stepped on. With one or
+     * more threads the field is split into stripes stepped by a parallel
+     * engine, which gives the same result whatever the number of threads;
+     * with none the actors are stepped in turn on the calling thread.
+     * Synchronous steps are always run on the calling thread.
+     *
+     * @param threads The number of threads, or 0 to step on the calling thread.
+     */
+    public void setThreads(int threads)
+    {
+        if (engine != null) {
+            engine.shutdown();
+            engine = null;
+        }
+        if (threads > 0) {
+            engine = new ParallelStepEngine(field, threads);
+        }
+        attachPool();
+    }
+
+    /**
+     * @return The number of threads the actors are stepped on, or 0 for the calling thread.
+     */
+    public int getThreads()
+    {
+        return engine == null ? 0 : engine.getThreads();
+    }
+
+    /**
+     * @return The engine stepping the actors on several threads, or null if they are stepped on the calling thread.
+     */
+    public ParallelStepEngine getStepEngine()
+    {
+        return engine;
+    }
+
     /**
      * Run the simulation from its current state for a single step.
-     * Iterate over the whole field updating the state of each
-     * fox and rabbit.
+     * Only the actors active at the time of day are stepped; the rest
+     * are asleep, and what they do asleep is done for them all at once
+     * when they wake. The newborns are of the species of their parents,
+     * so they join the bucket being stepped. Deaths of old age and
+     * starvation are timed events, fired as the step begins; each marks
+     * its actor to die at its own turn in the step.
      */
     public void simulateOneStep()
     {
         step++;
         TimeOfDay.getInstance().setCurrentStep(step);
+        Time time = TimeOfDay.getInstance().getTime();
+        List<Actor> actors = buckets.get(time.ordinal());
+        wake(time);
+        // Mark the actors due to die of old age or starvation, who die at their turn.
+        field.getWheel(time).advance();
+
+        if (columns != null) {
+            columns.step(time, step, sortInterval, activationOrder, activationBlock, activationSeed);
+            return;
+        }
+        if (synchronous) {
+            pipeline.step(actors, step);
+            return;
+        }
+        if (engine != null) {
+            engine.step(actors);
+            return;
+        }
+
+        if (sortInterval > 0 && field.getWheel(time).getTick() % sortInterval == 0) {
+            if (pool != null) {
+                // The sort drops the dead, so pool them first.
+                sweep(actors);
+            }
+            zOrder.sort(actors);
+        }
 
         // Provide space for newborn animals and plants.
         List<Actor> newActors = new ArrayList<>();
+
         // Let all actors act.
-        for (Iterator<Actor> it = actors.iterator(); it.hasNext(); ) {
-            Actor animal = it.next();
-            animal.act(newActors);
-            if (!animal.isAlive()) {
-                it.remove();
-            }
-        }
+        actInOrder(actors, newActors);
+
+        // Sweep out the dead in a single pass, keeping the order of the living.
+        sweep(actors);
 
         // Add the newly animals and plants to the main lists.
         actors.addAll(newActors);
     }
 
+    /**
+     * Remove the dead from a list of actors, keeping the order of the
+     * living, and give them to the pool if there is one.
+     *
+     * @param actors The actors.
+     */
+    private void sweep(List<Actor> actors)
+    {
+        if (pool == null) {
+            actors.removeIf(actor -> !actor.isAlive());
+            return;
+        }
+        actors.removeIf(actor -> {
+            if (actor.isAlive()) {
+                return false;
+            }
+            pool.give(actor);
+            return true;
+        });
+    }
+
+    /**
+     * Let the actors of a list act once, in the activation order. An
+     * actor killed earlier in the step, by a predator or by
+     * overcrowding, has nothing left to do.
+     *
+     * @param actors    The actors.
+     * @param newActors The list to add the newborns to.
+     */
+    private void actInOrder(List<Actor> actors, List<Actor> newActors)
+    {
+        int size = actors.size();
+        long stepSeed = IntentBuffer.mix(activationSeed + step);
+        if (activationOrder == ActivationOrder.PERMUTED) {
+            int blocks = (size + activationBlock - 1) / activationBlock;
+            permutation.reset(blocks, stepSeed);
+            for (int turn = 0; turn < blocks; turn++) {
+                int block = permutation.get(turn);
+                int from = block * activationBlock;
+                int to = Math.min(size, from + activationBlock);
+                boolean forwards = (IntentBuffer.mix(~stepSeed + block) & 1) == 0;
+                for (int i = from; i < to; i++) {
+                    Actor actor = actors.get(forwards ? i : from + to - 1 - i);
+                    if (actor.isAlive()) {
+                        actor.act(newActors);
+                    }
+                }
+            }
+            return;
+        }
+
+        // A rotated order starts from a point of the list that moves each step.
+        int start = 0;
+        if (activationOrder == ActivationOrder.ROTATED && size > 0) {
+            start = (int) Long.remainderUnsigned(stepSeed, size);
+        }
+        for (int turn = 0; turn < size; turn++) {
+            int i = start + turn < size ? start + turn : start + turn - size;
+            Actor actor = actors.get(i);
+            if (actor.isAlive()) {
+                actor.act(newActors);
+            }
+        }
+    }
+
+    /**
+     * Wake the actors active at a time of day, doing for them what they
+     * did in the steps since they were last active: each plant asleep
+     * regrew its species' food value by one a step. The plants eaten
+     * while asleep are counted as not having slept.
+     *
+     * @param time The time of day the actors are active at.
+     */
+    private void wake(Time time)
+    {
+        int slept = step - lastActiveSteps[time.ordinal()] - 1;
+        lastActiveSteps[time.ordinal()] = step;
+        if (slept <= 0) {
+            return;
+        }
+        HashMap<Class, Counter> population = field.getPopulation();
+        for (Map.Entry<Class, IntConsumer> species : regrowth.entrySet()) {
+            Counter plants = population.get(species.getKey());
+            if (plants != null && activeTimes.get(species.getKey()) == time) {
+                species.getValue().accept(plants.getCount() * slept);
+            }
+        }
+    }
+
     /**
      * Reset the simulation to a starting position.
      */
     public void reset()
     {
         step = 0;
-        actors.clear();
-        GroundPlan gp = new GroundPlan(field.getDepth(), field.getWidth());
+        for (List<Actor> bucket : buckets) {
+            if (pool != null) {
+                // The field is cleared before it is populated, so every actor can be reused.
+                for (Actor actor : bucket) {
+                    pool.give(actor);
+                }
+            }
+            bucket.clear();
+        }
+        animals.clear();
+        plants.clear();
+        for (int time = 0; time < lastActiveSteps.length; time++) {
+            lastActiveSteps[time] = 0;
+        }
+        if (columns != null) {
+            columns.clear();
+        }
         populate();
     }
     
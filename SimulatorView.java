@@ -1,8 +1,6 @@
 import java.awt.*;
 import java.awt.event.*;
 import javax.swing.*;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.HashMap;
 import javax.swing.Timer;
 
@@ -47,8 +45,8 @@ public class SimulatorView extends JFrame implements ActionListener
     private JComboBox plantMutationType;
     
     private FieldView fieldView;
-    // A map for storing colors for participants in the simulation.
-    private Map<Class, Color> colors;
+    // The color of each species of participant in the simulation, indexed by its ordinal.
+    private Color[] colors;
     // A statistics object computing and storing simulation information.
     private FieldStats stats;
     
@@ -98,8 +96,8 @@ public class SimulatorView extends JFrame implements ActionListener
         // Create instance for timer class controlling Simulation time.
         simulationTimer = new Timer(DEFAULT_SPEED, this);
         
-        stats = new FieldStats();
-        colors = new LinkedHashMap<Class, Color>();
+        stats = new FieldStats(this.simulator.getField());
+        colors = new Color[SpeciesRegistry.size()];
         
         // Construct and load GUI.
         prepareGUILoader();
@@ -437,12 +435,16 @@ public class SimulatorView extends JFrame implements ActionListener
     
     /**
      * Define a color to be used for a given class of animal.
+     * A class that is not a registered species is shown in the unknown color.
      * @param actorClass The animal's Class object.
      * @param color The color to be used for the given class.
      */
     public void setColor(Class actorClass, Color color)
     {
-        colors.put(actorClass, color);
+        int ordinal = SpeciesRegistry.ordinalOf(actorClass);
+        if(ordinal >= 0) {
+            colors[ordinal] = color;
+        }
     }
 
     /**
@@ -454,11 +456,11 @@ public class SimulatorView extends JFrame implements ActionListener
     }
 
     /**
-     * @return The color to be used for a given class of actor.
+     * @return The color to be used for a given species id of actor, its ordinal.
      */
-    private Color getColor(Class actorClass)
+    private Color getColor(int species)
     {
-        Color col = colors.get(actorClass);
+        Color col = species < colors.length ? colors[species] : null;
         if(col == null) {
             // no color defined for this class
             return UNKNOWN_COLOR;
@@ -545,7 +547,7 @@ public class SimulatorView extends JFrame implements ActionListener
                 this.simulator.simulateOneStep();
             } else {
                 // Otherwise, stop the timer, reset and show a message with information about the population.
-                JOptionPane.showMessageDialog(this, "The simulation has ended. \n" + stats.getPopulationDetails(this.simulator.getField()), "Results of Simulation:", JOptionPane.PLAIN_MESSAGE);
+                JOptionPane.showMessageDialog(this, "The simulation has ended. \n" + stats.getPopulationDetails(), "Results of Simulation:", JOptionPane.PLAIN_MESSAGE);
                 
                 this.simulationTimer.stop();
                 this.simulator.reset();
@@ -700,16 +702,18 @@ public class SimulatorView extends JFrame implements ActionListener
     
     /**
      * Get's the population.
-     * Convert's a Class Counter HashMap to a Color Counter HashMap.
+     * Convert's the species counters to a Color Counter HashMap.
      * @return the HashMap containing population per color.
      */
     public HashMap<Color, Counter> getPopulationDetails() 
     {
-        HashMap<Class, Counter> classData = this.stats.getPopulation();
+        Counter[] speciesData = this.stats.getCounters();
         HashMap<Color, Counter> colorData = new HashMap();
         
-        for (Class c : classData.keySet()) {
-            colorData.put(this.getColor(c), classData.get(c));
+        for (int species = 0; species < speciesData.length; species++) {
+            if (speciesData[species] != null) {
+                colorData.put(this.getColor(species), speciesData[species]);
+            }
         }
         
         return colorData;
@@ -893,29 +897,26 @@ public class SimulatorView extends JFrame implements ActionListener
         }
             
         stepLabel.setText(STEP_PREFIX + step);
-        stats.reset();
         
         fieldView.preparePaint();
 
         for(int row = 0; row < field.getDepth(); row++) {
             for(int col = 0; col < field.getWidth(); col++) {
-                Object animal = field.getObjectAt(row, col);
-                if(animal != null) {
-                    stats.incrementCount(animal.getClass());
-                    fieldView.drawMark(col, row, getColor(animal.getClass()));
+                int species = field.getSpeciesIdAt(row, col);
+                if(species >= 0) {
+                    fieldView.drawMark(col, row, getColor(species));
                 }
                 else {
                     fieldView.drawMark(col, row, EMPTY_COLOR);
                 }
             }
         }
-        stats.countFinished();
         
         // Populates and repaints the pie chart with new stats. 
         this.pieChartDiagram.setStats(this.getPopulationDetails());
         this.pieChartDiagram.repaint();
 
-        population.setText(POPULATION_PREFIX + stats.getPopulationDetails(field));
+        population.setText(POPULATION_PREFIX + stats.getPopulationDetails());
         fieldView.repaint();
     }
 
@@ -925,6 +926,6 @@ public class SimulatorView extends JFrame implements ActionListener
      */
     public boolean isViable(Field field)
     {
-        return stats.isViable(field);
+        return stats.isViable();
     }
 }
\ No newline at end of file
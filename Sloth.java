@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -42,7 +40,11 @@ public class Sloth extends Animal implements Prey
     private static final Time activeTime = Time.NIGHT;
 
     // The prey that the Sloth eats.
-    private final Class[] preysOn = {Tree.class};
+    private static final Class[] preysOn = {Tree.class};
+
+    // The descriptor of the Sloth, shared by every Sloth.
+    private static final SpeciesTraits traits = SpeciesTraits.prey(Sloth.class, activeTime, movementArea, femaleChances, foodValue, noiseValue, preysOn,
+            maxAge, breedingAge, breedingProbability, maxLitterSize);
 
     /**
      * Constructor for the Sloth object.
@@ -54,17 +56,27 @@ public class Sloth extends Animal implements Prey
      */
     public Sloth(Field field, Location location, boolean randomAge)
     {
-        super(field, location, randomAge, femaleChances, foodValue, maxAge, breedingAge, breedingProbability, maxLitterSize);
+        super(field, location, randomAge, traits);
+    }
+
+    /**
+     * Retrieves the movement area of the Sloth.
+     *
+     * @return The movement area of the Sloth.
+     */
+    public static MovementArea getMovementArea()
+    {
+        return movementArea;
     }
 
     /**
-     * Retrieves the Bounds of the Sloth.
+     * Retrieves the descriptor of the Sloth, shared by every Sloth.
      *
-     * @return The bounds of the Sloth.
+     * @return The descriptor of the Sloth.
      */
-    public static ArrayList<Bound> getBounds()
+    public static SpeciesTraits getTraits()
     {
-        return movementArea.getBounds();
+        return traits;
     }
 
     /**
@@ -74,19 +86,17 @@ public class Sloth extends Animal implements Prey
     {
         if (TimeOfDay.getInstance().getTime() == activeTime) {
             // Checks if the current time matches the active hours of the sloth.
-            incrementAge();
-            incrementHunger();
-            if (isAlive()) {
-                mate(newActors, this.getClass(), getBounds(), noiseValue);
+            if (takeTurn()) {
+                mate(newActors, movementArea, noiseValue);
                 // Move towards a source of food if found.
                 findFood();
 
                 // No food found - try to move to a free location.
-                Location newLocation = getField().freeAdjacentLocation(getLocation(), movementArea.getBounds(), 1);
+                Location newLocation = getField().freeAdjacentLocation(getLocation(), movementArea, 1);
 
                 // See if it was possible to move.
                 if (newLocation != null) {
-                    setLocation(newLocation);
+                    moveTo(newLocation, movementArea);
                 } else {
                     // Overcrowding.
                     setDamage();
@@ -103,11 +113,10 @@ public class Sloth extends Animal implements Prey
     public void findFood()
     {
         Field field = getField();
-        List<Location> adjacent = field.adjacentLocations(getLocation(), movementArea.getBounds(), preysOn, 1);
-        Iterator<Location> it = adjacent.iterator();
-        if (it.hasNext()) {
+        NeighbourCursor cursor = field.neighboursOfSpecies(getLocation(), movementArea, traits.getPreyMask(), 1);
+        if (cursor.next()) {
             // Eat the first instance of food.
-            eat(field, it.next());
+            eat(field, cursor.getLocation());
         }
     }
 
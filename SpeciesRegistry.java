@@ -0,0 +1,102 @@
+/**
+ * The registry of the species of the simulation. Each species has a
+ * small ordinal, which is also its species id in the field, and one
+ * shared, immutable descriptor of its traits. What each species preys
+ * on is kept as a bitmask of the ordinals of its prey, so the rows of
+ * the masks make a predation matrix, and a prey test is a bit AND.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class SpeciesRegistry
+{
+    // The species, in the order of their ordinals. The prey of each
+    // species come in the order it lists them, so that the field finds
+    // them in the same order as when they were matched by class.
+    private static final Class[] species = {Fish.class, Sloth.class, Monkey.class, Jaguar.class, Eagle.class, Tree.class, Algae.class};
+
+    /**
+     * The descriptors of the species, by ordinal. They are held apart
+     * so that they are made once every species class has been set up,
+     * as each species class asks for ordinals as it makes its descriptor.
+     */
+    private static class Descriptors
+    {
+        // The descriptor of each species.
+        private static final SpeciesTraits[] traits = {Fish.getTraits(), Sloth.getTraits(), Monkey.getTraits(), Jaguar.getTraits(),
+                Eagle.getTraits(), Tree.getTraits(), Algae.getTraits()};
+    }
+
+    /**
+     * @return The number of species.
+     */
+    public static int size()
+    {
+        return species.length;
+    }
+
+    /**
+     * Return the ordinal of a species.
+     *
+     * @param actorClass The class of the species.
+     * @return Its ordinal, or -1 if it is not a registered species.
+     */
+    public static int ordinalOf(Class actorClass)
+    {
+        for (int ordinal = 0; ordinal < species.length; ordinal++) {
+            if (species[ordinal] == actorClass) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Return the class of a species.
+     *
+     * @param ordinal The ordinal of the species.
+     * @return The class of the species.
+     */
+    public static Class getSpecies(int ordinal)
+    {
+        return species[ordinal];
+    }
+
+    /**
+     * Return the descriptor of a species.
+     *
+     * @param ordinal The ordinal of the species.
+     * @return The descriptor of the species.
+     */
+    public static SpeciesTraits getTraits(int ordinal)
+    {
+        return Descriptors.traits[ordinal];
+    }
+
+    /**
+     * Return the mask of a list of species, with the bit of each one's ordinal set.
+     *
+     * @param classes The classes of the species.
+     * @return The mask.
+     */
+    public static long maskOf(Class[] classes)
+    {
+        long mask = 0;
+        for (Class actorClass : classes) {
+            mask |= 1L << ordinalOf(actorClass);
+        }
+        return mask;
+    }
+
+    /**
+     * Return whether a species preys on another.
+     *
+     * @param predator The ordinal of the species that may be the predator.
+     * @param prey     The ordinal of the species that may be its prey.
+     * @return Whether the first species preys on the second.
+     */
+    public static boolean preysOn(int predator, int prey)
+    {
+        return (getTraits(predator).getPreyMask() & (1L << prey)) != 0;
+    }
+}
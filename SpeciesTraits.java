@@ -0,0 +1,290 @@
+import java.util.function.IntSupplier;
+
+/**
+ * The descriptor of a species: its ordinal in the species registry,
+ * the characteristics shared by all its actors, and what it eats and
+ * how. Each species makes its one descriptor from its own class
+ * variables, and its actors refer to it rather than each keeping a
+ * copy. The column engine steps the species from it too.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class SpeciesTraits
+{
+    // The class of the species.
+    private final Class species;
+
+    // The ordinal of the species in the registry.
+    private final int ordinal;
+
+    // The time of day at which the species is active.
+    private final Time activeTime;
+
+    // The movement area of the species.
+    private final MovementArea movementArea;
+
+    // The max age, the breeding age and the max litter size of the species.
+    private final int maxAge, breedingAge, maxLitterSize;
+
+    // The likelihood of an actor of the species breeding.
+    private final double breedingProbability;
+
+    // Whether the species is an animal, rather than a plant.
+    private final boolean animal;
+
+    // The gender of a plant.
+    private final Gender gender;
+
+    // The food value a new plant is given, which may change as the species regrows.
+    private final IntSupplier nutritionalValue;
+
+    // The chances of a female animal being born.
+    private final double femaleChances;
+
+    // The number of steps an animal can go before it has to eat again.
+    private final int foodValue;
+
+    // The search distance in the field for a mate.
+    private final int noiseValue;
+
+    // The ordinals of the species the animal eats, as a mask.
+    private final long preyMask;
+
+    // The attack probability of a predator, or 1 for an animal that eats the first food it finds.
+    private final double attackProbability;
+
+    // Whether the animal is a predator, drawing its attack probability for each prey it finds.
+    private final boolean predator;
+
+    /**
+     * Create the traits of a species. Only those of its kind are used.
+     */
+    private SpeciesTraits(Class species, Time activeTime, MovementArea movementArea, int maxAge, int breedingAge, double breedingProbability, int maxLitterSize,
+                          boolean animal, Gender gender, IntSupplier nutritionalValue,
+                          double femaleChances, int foodValue, int noiseValue, Class[] preysOn, double attackProbability, boolean predator)
+    {
+        this.species = species;
+        this.ordinal = SpeciesRegistry.ordinalOf(species);
+        this.activeTime = activeTime;
+        this.movementArea = movementArea;
+        this.maxAge = maxAge;
+        this.breedingAge = breedingAge;
+        this.breedingProbability = breedingProbability;
+        this.maxLitterSize = maxLitterSize;
+        this.animal = animal;
+        this.gender = gender;
+        this.nutritionalValue = nutritionalValue;
+        this.femaleChances = femaleChances;
+        this.foodValue = foodValue;
+        this.noiseValue = noiseValue;
+        this.preyMask = SpeciesRegistry.maskOf(preysOn);
+        this.attackProbability = attackProbability;
+        this.predator = predator;
+    }
+
+    /**
+     * Return the traits of a species of plant.
+     *
+     * @param species             The class of the species.
+     * @param activeTime          The time of day at which it is active.
+     * @param movementArea        Its movement area.
+     * @param gender              The gender of its plants.
+     * @param nutritionalValue    The food value a new plant is given.
+     * @param maxAge              Its maximum age.
+     * @param breedingAge         The age at which it can breed.
+     * @param breedingProbability The chances of it breeding.
+     * @param maxLitterSize       The maximum number of offspring.
+     * @return The traits.
+     */
+    public static SpeciesTraits plant(Class species, Time activeTime, MovementArea movementArea, Gender gender, IntSupplier nutritionalValue,
+                                      int maxAge, int breedingAge, double breedingProbability, int maxLitterSize)
+    {
+        return new SpeciesTraits(species, activeTime, movementArea, maxAge, breedingAge, breedingProbability, maxLitterSize,
+                false, gender, nutritionalValue, 0, 0, 0, new Class[0], 0, false);
+    }
+
+    /**
+     * Return the traits of a species of animal that eats the first food it finds.
+     *
+     * @param species             The class of the species.
+     * @param activeTime          The time of day at which it is active.
+     * @param movementArea        Its movement area.
+     * @param femaleChances       The chances of a female being born.
+     * @param foodValue           The number of steps it can go before it has to eat again.
+     * @param noiseValue          The search distance for a mate.
+     * @param preysOn             The species it eats.
+     * @param maxAge              Its maximum age.
+     * @param breedingAge         The age at which it can breed.
+     * @param breedingProbability The chances of it breeding.
+     * @param maxLitterSize       The maximum number of births.
+     * @return The traits.
+     */
+    public static SpeciesTraits prey(Class species, Time activeTime, MovementArea movementArea, double femaleChances, int foodValue, int noiseValue, Class[] preysOn,
+                                     int maxAge, int breedingAge, double breedingProbability, int maxLitterSize)
+    {
+        return new SpeciesTraits(species, activeTime, movementArea, maxAge, breedingAge, breedingProbability, maxLitterSize,
+                true, null, null, femaleChances, foodValue, noiseValue, preysOn, 1, false);
+    }
+
+    /**
+     * Return the traits of a species of animal that attacks each prey it
+     * finds with its attack probability, until it eats one.
+     *
+     * @param species             The class of the species.
+     * @param activeTime          The time of day at which it is active.
+     * @param movementArea        Its movement area.
+     * @param femaleChances       The chances of a female being born.
+     * @param foodValue           The number of steps it can go before it has to eat again.
+     * @param noiseValue          The search distance for a mate.
+     * @param preysOn             The species it eats.
+     * @param attackProbability   The chances of an attack on a prey succeeding.
+     * @param maxAge              Its maximum age.
+     * @param breedingAge         The age at which it can breed.
+     * @param breedingProbability The chances of it breeding.
+     * @param maxLitterSize       The maximum number of births.
+     * @return The traits.
+     */
+    public static SpeciesTraits predator(Class species, Time activeTime, MovementArea movementArea, double femaleChances, int foodValue, int noiseValue, Class[] preysOn,
+                                         double attackProbability, int maxAge, int breedingAge, double breedingProbability, int maxLitterSize)
+    {
+        return new SpeciesTraits(species, activeTime, movementArea, maxAge, breedingAge, breedingProbability, maxLitterSize,
+                true, null, null, femaleChances, foodValue, noiseValue, preysOn, attackProbability, true);
+    }
+
+    /**
+     * @return The class of the species.
+     */
+    public Class getSpecies()
+    {
+        return species;
+    }
+
+    /**
+     * @return The ordinal of the species in the registry, which is also its species id in the field.
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+    /**
+     * @return The time of day at which the species is active.
+     */
+    public Time getActiveTime()
+    {
+        return activeTime;
+    }
+
+    /**
+     * @return The movement area of the species.
+     */
+    public MovementArea getMovementArea()
+    {
+        return movementArea;
+    }
+
+    /**
+     * @return The max age of the species.
+     */
+    public int getMaxAge()
+    {
+        return maxAge;
+    }
+
+    /**
+     * @return The age at which the species can breed.
+     */
+    public int getBreedingAge()
+    {
+        return breedingAge;
+    }
+
+    /**
+     * @return The likelihood of an actor of the species breeding.
+     */
+    public double getBreedingProbability()
+    {
+        return breedingProbability;
+    }
+
+    /**
+     * @return The max number of births.
+     */
+    public int getMaxLitterSize()
+    {
+        return maxLitterSize;
+    }
+
+    /**
+     * @return Whether the species is an animal, rather than a plant.
+     */
+    public boolean isAnimal()
+    {
+        return animal;
+    }
+
+    /**
+     * @return The gender of a plant of the species.
+     */
+    public Gender getGender()
+    {
+        return gender;
+    }
+
+    /**
+     * @return The food value a new plant of the species is given now.
+     */
+    public int getNutritionalValue()
+    {
+        return nutritionalValue.getAsInt();
+    }
+
+    /**
+     * @return The chances of a female animal being born.
+     */
+    public double getFemaleChances()
+    {
+        return femaleChances;
+    }
+
+    /**
+     * @return The number of steps an animal can go before it has to eat again.
+     */
+    public int getFoodValue()
+    {
+        return foodValue;
+    }
+
+    /**
+     * @return The search distance in the field for a mate.
+     */
+    public int getNoiseValue()
+    {
+        return noiseValue;
+    }
+
+    /**
+     * @return The ordinals of the species the animal eats, as a mask.
+     */
+    public long getPreyMask()
+    {
+        return preyMask;
+    }
+
+    /**
+     * @return Whether the animal is a predator, drawing its attack probability for each prey it finds.
+     */
+    public boolean isPredator()
+    {
+        return predator;
+    }
+
+    /**
+     * @return The attack probability of a predator.
+     */
+    public double getAttackProbability()
+    {
+        return attackProbability;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * The phases of a step run by the step pipeline, in the order they run.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public enum StepPhase
+{
+    /**
+     * Every actor senses the field as it was when the step began and
+     * decides what to do: where to move, what to eat, whom to mate with.
+     * The field is not changed; the moves, births and deaths are held back.
+     */
+    DECIDE,
+
+    /**
+     * Each cell that actors move or are born into is given to one of them.
+     */
+    RESOLVE,
+
+    /**
+     * The dead are taken out of the field, and the actors that won
+     * a cell are moved into it.
+     */
+    MOVE,
+
+    /**
+     * The newborns that won a cell are born into it.
+     */
+    REPRODUCE,
+
+    /**
+     * The dead are dropped from the list of actors, and the newborns added.
+     */
+    CLEANUP;
+}
@@ -0,0 +1,131 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a step of the simulation as a pipeline of phases, each finished
+ * for every actor before the next begins. The actors first decide what
+ * to do against the field as it was when the step began; then the cells
+ * they compete for are resolved together, the moves and deaths applied,
+ * the births applied, and the list of actors brought up to date.
+ *
+ * Sensing and deciding are one phase, because a species' act() looks
+ * at the field and decides as it goes. The field is read-only during
+ * the phase, but an actor still changes its own state and that of the
+ * actors it mates with. The meals of the phase are held back until the
+ * cells are resolved, so each prey is eaten at most once, and takes its
+ * turn whatever its place in the list.
+ *
+ * The time spent in each phase is kept, so that the phases can be
+ * measured apart.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class StepPipeline
+{
+    // The field whose actors are stepped.
+    private final Field field;
+
+    // The actors born during the current step.
+    private final List<Actor> newborns;
+
+    // The time, in nanoseconds, spent in each phase since the times were reset.
+    private final long[] phaseTimes;
+
+    // The number of steps run since the times were reset.
+    private int steps;
+
+    /**
+     * Create a pipeline stepping the actors of a field.
+     *
+     * @param field The field whose actors are stepped.
+     */
+    public StepPipeline(Field field)
+    {
+        this.field = field;
+        newborns = new ArrayList<>();
+        phaseTimes = new long[StepPhase.values().length];
+    }
+
+    /**
+     * Step the actors once. The survivors are left in the list in the
+     * order they were in, followed by the newborns.
+     *
+     * @param actors The actors to step, in the order to step them.
+     * @param step   The number of the step, which seeds the resolution
+     *               of collisions.
+     */
+    public void step(List<Actor> actors, int step)
+    {
+        long start = System.nanoTime();
+        field.beginStep(step);
+        for (Actor actor : actors) {
+            actor.act(newborns);
+        }
+        start = endPhase(StepPhase.DECIDE, start);
+
+        field.resolveStep();
+        start = endPhase(StepPhase.RESOLVE, start);
+
+        field.applyMoves();
+        start = endPhase(StepPhase.MOVE, start);
+
+        field.applyBirths();
+        start = endPhase(StepPhase.REPRODUCE, start);
+
+        actors.removeIf(actor -> !actor.isAlive());
+        for (Actor newborn : newborns) {
+            // A newborn that lost the cell it was to be born into is not alive.
+            if (newborn.isAlive()) {
+                actors.add(newborn);
+            }
+        }
+        newborns.clear();
+        endPhase(StepPhase.CLEANUP, start);
+        steps++;
+    }
+
+    /**
+     * Add the time since a phase started to the phase's time.
+     *
+     * @param phase The phase that has ended.
+     * @param start The time, from System.nanoTime(), the phase started.
+     * @return The time the phase ended, when the next one starts.
+     */
+    private long endPhase(StepPhase phase, long start)
+    {
+        long end = System.nanoTime();
+        phaseTimes[phase.ordinal()] += end - start;
+        return end;
+    }
+
+    /**
+     * Return the time spent in a phase since the times were reset.
+     *
+     * @param phase The phase.
+     * @return The time, in nanoseconds.
+     */
+    public long getPhaseTime(StepPhase phase)
+    {
+        return phaseTimes[phase.ordinal()];
+    }
+
+    /**
+     * @return The number of steps run since the times were reset.
+     */
+    public int getSteps()
+    {
+        return steps;
+    }
+
+    /**
+     * Start timing the phases afresh.
+     */
+    public void resetTimes()
+    {
+        for (int phase = 0; phase < phaseTimes.length; phase++) {
+            phaseTimes[phase] = 0;
+        }
+        steps = 0;
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * A thread of the parallel step engine. Each worker has a random
+ * generator of its own, which the shared generator hands out to the
+ * actors while the worker is stepping them.
+ *
+ * While it steps a stripe, the worker also hands out the ids of the
+ * actors born there, from the stripe's own sequence, and keeps the
+ * changes the stripe makes to state shared with other stripes until
+ * the end of the step. So neither depends on how the stripes are
+ * interleaved on the threads.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class StepWorker extends ForkJoinWorkerThread
+{
+    // The generator used by the actors stepped on this thread.
+    private final Random random;
+
+    // The time, in nanoseconds, spent stepping actors since it was reset.
+    private volatile long busyTime;
+
+    // The id of the first actor born in the stripe being stepped.
+    private long firstId;
+
+    // The step between the ids of the actors born in the stripe, which is the number of stripes.
+    private int idStride;
+
+    // The number of ids handed out in the stripe.
+    private int idCount;
+
+    // The changes to shared state made in the stripe, kept until the end of the step.
+    private List<Runnable> deferred;
+
+    /**
+     * Create a worker for the given pool.
+     *
+     * @param pool The pool the worker belongs to.
+     */
+    public StepWorker(ForkJoinPool pool)
+    {
+        super(pool);
+        random = new Random();
+    }
+
+    /**
+     * @return The generator used by the actors stepped on this thread.
+     */
+    public Random getRandom()
+    {
+        return random;
+    }
+
+    /**
+     * Start stepping a stripe. The ids of the actors born in it are
+     * the first id, and every stride after it.
+     *
+     * @param firstId  The id of the first actor born in the stripe.
+     * @param idStride The step between the ids, which is the number of stripes.
+     * @param deferred The list to keep the stripe's changes to shared state in.
+     */
+    public void beginStripe(long firstId, int idStride, List<Runnable> deferred)
+    {
+        this.firstId = firstId;
+        this.idStride = idStride;
+        this.deferred = deferred;
+        idCount = 0;
+    }
+
+    /**
+     * Finish stepping a stripe.
+     *
+     * @return The number of ids handed out in the stripe.
+     */
+    public int endStripe()
+    {
+        deferred = null;
+        return idCount;
+    }
+
+    /**
+     * @return The id for an actor born in the stripe being stepped.
+     */
+    public long nextActorId()
+    {
+        return firstId + (long) idStride * idCount++;
+    }
+
+    /**
+     * Keep a change to state shared with other stripes until the end
+     * of the step, when the changes are made in stripe order.
+     *
+     * @param change The change.
+     */
+    public void defer(Runnable change)
+    {
+        deferred.add(change);
+    }
+
+    /**
+     * Add to the time spent stepping actors. Called by this thread only.
+     *
+     * @param time The time, in nanoseconds.
+     */
+    public void addBusyTime(long time)
+    {
+        busyTime += time;
+    }
+
+    /**
+     * @return The time, in nanoseconds, spent stepping actors since it was reset.
+     */
+    public long getBusyTime()
+    {
+        return busyTime;
+    }
+
+    /**
+     * Start timing the thread afresh.
+     */
+    public void resetBusyTime()
+    {
+        busyTime = 0;
+    }
+}
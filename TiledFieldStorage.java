@@ -0,0 +1,99 @@
+/**
+ * Dense field storage whose cells are laid out in tiles of 8 x 8 cells,
+ * with the tiles in Morton (Z-order) order. The 64 cells of a tile are
+ * adjacent in memory, and neighbouring tiles are mostly close together,
+ * so a neighbourhood window touches a few tiles instead of one stretch
+ * of memory per row. The occupancy planes are kept row-major, as in
+ * DenseFieldStorage, since they are read 64 cells along a row at a time.
+ *
+ * The tile grid is padded to a power of two along each side, so the cell
+ * array may have up to four times as many slots as the field has cells.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class TiledFieldStorage extends DenseFieldStorage
+{
+    // The number of bits of a coordinate addressing a cell within a tile.
+    private static final int TILE_SHIFT = 3;
+
+    // The mask for a coordinate within a tile.
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+
+    // The part of a cell's slot given by its row, indexed by row.
+    private final int[] rowSlots;
+
+    // The part of a cell's slot given by its column, indexed by column.
+    private final int[] colSlots;
+
+    /**
+     * Create tiled storage for a field of the given dimensions.
+     * The slot of a cell is the Morton code of its tile, with the low bits
+     * of the tile coordinates interleaved and the high bits of the longer
+     * side above them, followed by the cell's position in the tile. The row
+     * and column contribute disjoint bits, so each is looked up once here.
+     *
+     * @param depth      The depth of the field.
+     * @param width      The width of the field.
+     * @param groundPlan The ground plan of the field.
+     */
+    public TiledFieldStorage(int depth, int width, GroundPlan groundPlan)
+    {
+        super(depth, width, groundPlan, slotsFor(depth, width));
+        int commonBits = Math.min(rowBits(depth), colBits(width));
+        int commonMask = (1 << commonBits) - 1;
+
+        rowSlots = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            int tileRow = row >>> TILE_SHIFT;
+            int tile = (int) (Morton.spread(tileRow & commonMask) << 1)
+                    | ((tileRow >>> commonBits) << (2 * commonBits));
+            rowSlots[row] = (tile << (2 * TILE_SHIFT)) | ((row & TILE_MASK) << TILE_SHIFT);
+        }
+        colSlots = new int[width];
+        for (int col = 0; col < width; col++) {
+            int tileCol = col >>> TILE_SHIFT;
+            int tile = (int) Morton.spread(tileCol & commonMask)
+                    | ((tileCol >>> commonBits) << (2 * commonBits));
+            colSlots[col] = (tile << (2 * TILE_SHIFT)) | (col & TILE_MASK);
+        }
+    }
+
+    /**
+     * @return The number of bits of a tile row.
+     */
+    private static int rowBits(int depth)
+    {
+        return Morton.bitsFor((depth + TILE_MASK) >>> TILE_SHIFT);
+    }
+
+    /**
+     * @return The number of bits of a tile column.
+     */
+    private static int colBits(int width)
+    {
+        return Morton.bitsFor((width + TILE_MASK) >>> TILE_SHIFT);
+    }
+
+    /**
+     * Return the number of slots needed for a field of the given size.
+     *
+     * @param depth The depth of the field.
+     * @param width The width of the field.
+     * @return The number of slots in the cell array.
+     */
+    private static int slotsFor(int depth, int width)
+    {
+        long slots = 1L << (rowBits(depth) + colBits(width) + 2 * TILE_SHIFT);
+        if (slots > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Field too large for a tiled layout: " + depth + "x" + width);
+        }
+        return (int) slots;
+    }
+
+    @Override
+    protected int cellIndex(int row, int col)
+    {
+        return rowSlots[row] | colSlots[col];
+    }
+}
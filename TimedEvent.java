@@ -0,0 +1,60 @@
+/**
+ * An event that fires at a tick of a timing wheel. An event is in at
+ * most one wheel at a time; it is linked into the wheel's slots itself,
+ * so scheduling and cancelling it allocate nothing.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public abstract class TimedEvent
+{
+    // The wheel the event is scheduled in, or null if it is not scheduled.
+    TimingWheel wheel;
+
+    // The events before and after this one in its slot of the wheel.
+    TimedEvent previous, next;
+
+    // The tick at which the event fires.
+    int due;
+
+    // The slots of the level the event is linked into, or null for the wheel's overflow list.
+    TimedEvent[] level;
+
+    // The slot of the level the event is linked into.
+    int slot;
+
+    /**
+     * Do what the event does, at the tick it was due. The event is no
+     * longer scheduled, and may schedule itself again.
+     *
+     * @param wheel The wheel the event was scheduled in.
+     */
+    protected abstract void fire(TimingWheel wheel);
+
+    /**
+     * @return Whether the event is scheduled in a wheel.
+     */
+    public boolean isScheduled()
+    {
+        return wheel != null;
+    }
+
+    /**
+     * @return The tick at which the event fires, if it is scheduled.
+     */
+    public int getDue()
+    {
+        return due;
+    }
+
+    /**
+     * Take the event out of the wheel it is scheduled in, if any.
+     */
+    public void cancel()
+    {
+        TimingWheel wheel = this.wheel;
+        if (wheel != null) {
+            wheel.cancel(this);
+        }
+    }
+}
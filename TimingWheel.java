@@ -0,0 +1,250 @@
+/**
+ * A hierarchical timing wheel, holding events to fire at later ticks.
+ * Each level is a ring of slots; a slot of the lowest level holds the
+ * events due at one tick, and a slot of each level above holds those
+ * due in a span as long as the whole level below. As the wheel turns
+ * onto a slot of a higher level, its events are spread over the levels
+ * below, so each event is moved at most once per level and scheduling,
+ * cancelling and firing an event all take constant time. Events due
+ * beyond the top level wait in an overflow list until it comes round.
+ *
+ * Events may be scheduled and cancelled from several threads at once,
+ * but the wheel is turned by one thread while no other uses it.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class TimingWheel
+{
+    // The number of bits of a tick that select the slot of a level.
+    private static final int SLOT_BITS = 6;
+
+    // The number of slots in each level.
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    // The number of levels.
+    private static final int LEVELS = 4;
+
+    // The first event in each slot of each level, or null if the slot is empty.
+    private final TimedEvent[][] slots;
+
+    // The events due beyond the top level.
+    private TimedEvent overflow;
+
+    // The current tick.
+    private int tick;
+
+    // The number of events scheduled.
+    private int size;
+
+    /**
+     * Create an empty wheel at tick 0.
+     */
+    public TimingWheel()
+    {
+        slots = new TimedEvent[LEVELS][SLOTS];
+    }
+
+    /**
+     * @return The current tick.
+     */
+    public int getTick()
+    {
+        return tick;
+    }
+
+    /**
+     * @return The number of events scheduled.
+     */
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    /**
+     * Schedule an event to fire at a tick, moving it there if it was
+     * already scheduled. An event due now or earlier fires at the next tick.
+     *
+     * @param event The event.
+     * @param due   The tick at which it fires.
+     */
+    public synchronized void schedule(TimedEvent event, int due)
+    {
+        if (event.wheel != null) {
+            event.wheel.cancel(event);
+        }
+        event.due = Math.max(due, tick + 1);
+        event.wheel = this;
+        size++;
+        insert(event);
+    }
+
+    /**
+     * Take an event out of the wheel. Nothing is done if it is not in it.
+     *
+     * @param event The event.
+     */
+    public synchronized void cancel(TimedEvent event)
+    {
+        if (event.wheel != this) {
+            return;
+        }
+        unlink(event);
+        event.wheel = null;
+        size--;
+    }
+
+    /**
+     * Turn the wheel on to the next tick, and fire the events due at it.
+     */
+    public synchronized void advance()
+    {
+        tick++;
+        // Spread the slots the wheel has turned onto over the levels
+        // below, from the highest level down.
+        int level = 0;
+        while (level + 1 < LEVELS && ((tick >>> (SLOT_BITS * (level + 1))) << (SLOT_BITS * (level + 1))) == tick) {
+            level++;
+        }
+        if (level == LEVELS - 1 && (tick & ((1 << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+            TimedEvent events = overflow;
+            overflow = null;
+            reinsert(events);
+        }
+        for (; level > 0; level--) {
+            int slot = (tick >>> (SLOT_BITS * level)) & (SLOTS - 1);
+            TimedEvent events = slots[level][slot];
+            slots[level][slot] = null;
+            reinsert(events);
+        }
+
+        int slot = tick & (SLOTS - 1);
+        TimedEvent event = slots[0][slot];
+        slots[0][slot] = null;
+        while (event != null) {
+            TimedEvent next = event.next;
+            event.previous = null;
+            event.next = null;
+            event.level = null;
+            event.wheel = null;
+            size--;
+            event.fire(this);
+            event = next;
+        }
+    }
+
+    /**
+     * Take every event out of the wheel, and set it back to tick 0.
+     */
+    public synchronized void clear()
+    {
+        for (TimedEvent[] level : slots) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                forget(level[slot]);
+                level[slot] = null;
+            }
+        }
+        forget(overflow);
+        overflow = null;
+        tick = 0;
+        size = 0;
+    }
+
+    /**
+     * Put a list of events back into the wheel, by their due ticks.
+     *
+     * @param event The first event of the list.
+     */
+    private void reinsert(TimedEvent event)
+    {
+        while (event != null) {
+            TimedEvent next = event.next;
+            insert(event);
+            event = next;
+        }
+    }
+
+    /**
+     * Unschedule a list of events.
+     *
+     * @param event The first event of the list.
+     */
+    private void forget(TimedEvent event)
+    {
+        while (event != null) {
+            TimedEvent next = event.next;
+            event.previous = null;
+            event.next = null;
+            event.level = null;
+            event.wheel = null;
+            event = next;
+        }
+    }
+
+    /**
+     * Link an event into the slot its due tick falls in. The level is
+     * the highest whose part of the due tick differs from the current
+     * tick, so the wheel reaches the slot before the event is due.
+     *
+     * @param event The event, due after the current tick.
+     */
+    private void insert(TimedEvent event)
+    {
+        int differs = event.due ^ tick;
+        int level = 0;
+        while (level < LEVELS && (differs >>> (SLOT_BITS * (level + 1))) != 0) {
+            level++;
+        }
+        if (level == LEVELS) {
+            link(event, null, -1);
+        } else {
+            link(event, slots[level], (event.due >>> (SLOT_BITS * level)) & (SLOTS - 1));
+        }
+    }
+
+    /**
+     * Link an event in at the head of a slot, or of the overflow list.
+     *
+     * @param event The event.
+     * @param level The slots of the level, or null for the overflow list.
+     * @param slot  The slot.
+     */
+    private void link(TimedEvent event, TimedEvent[] level, int slot)
+    {
+        TimedEvent head = level == null ? overflow : level[slot];
+        event.level = level;
+        event.slot = slot;
+        event.previous = null;
+        event.next = head;
+        if (head != null) {
+            head.previous = event;
+        }
+        if (level == null) {
+            overflow = event;
+        } else {
+            level[slot] = event;
+        }
+    }
+
+    /**
+     * Unlink an event from the slot it is in.
+     *
+     * @param event The event.
+     */
+    private void unlink(TimedEvent event)
+    {
+        if (event.next != null) {
+            event.next.previous = event.previous;
+        }
+        if (event.previous != null) {
+            event.previous.next = event.next;
+        } else if (event.level == null) {
+            overflow = event.next;
+        } else {
+            event.level[event.slot] = event.next;
+        }
+        event.previous = null;
+        event.next = null;
+        event.level = null;
+    }
+}
@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,6 +33,10 @@ public class Tree extends Plant
     // The amount of food that can be provided to actors from this plant
     private static int nutritionalValue = 1000;
 
+    // The descriptor of the Tree, shared by every Tree.
+    private static final SpeciesTraits traits = SpeciesTraits.plant(Tree.class, activeTime, movementArea, gender, () -> nutritionalValue,
+            maxAge, breedingAge, breedingProbability, maxLitterSize);
+
     /**
      * Constructor for the Tree object.
      * The Tree object can have an age that is randomly defined or set at 0.
@@ -44,17 +47,38 @@ public class Tree extends Plant
      */
     public Tree(Field field, Location location, boolean randomAge)
     {
-        super(field, location, randomAge, gender, nutritionalValue, maxAge, breedingAge, breedingProbability, maxLitterSize);
+        super(field, location, randomAge, traits);
+    }
+
+    /**
+     * Retrieves the movement area of the Tree.
+     *
+     * @return The movement area of the Tree.
+     */
+    public static MovementArea getMovementArea()
+    {
+        return movementArea;
     }
 
     /**
-     * Retrieves the Bounds of the Tree.
+     * Retrieves the descriptor of the Tree, shared by every Tree.
      *
-     * @return The bounds of the Tree.
+     * @return The descriptor of the Tree.
      */
-    public static ArrayList<Bound> getBounds()
+    public static SpeciesTraits getTraits()
     {
-        return movementArea.getBounds();
+        return traits;
+    }
+
+    /**
+     * Regrows the Tree while it sleeps. Each Tree asleep adds one to the
+     * food value new Trees are given for every step it sleeps.
+     *
+     * @param plantSteps The number of Trees asleep times the number of steps they slept.
+     */
+    public static void regrow(int plantSteps)
+    {
+        nutritionalValue += plantSteps;
     }
 
     /**
@@ -66,14 +90,9 @@ public class Tree extends Plant
         if (TimeOfDay.getInstance().getTime() == activeTime) {
             // Checks if it is currently the active hours of the Tree.
 
-            incrementAge();
-
-            if (isAlive()) {
-                giveBirth(newActors, getBounds());
+            if (takeTurn()) {
+                giveBirth(newActors, movementArea);
             }
-        } else {
-            nutritionalValue++;
-            // Increment its food value.
         }
     }
 
@@ -0,0 +1,136 @@
+import java.util.List;
+
+/**
+ * Sorts a list of actors by the Morton (Z-order) code of their
+ * locations, so that actors stepped one after another are close
+ * together in the field and mostly touch cells already in the cache.
+ * The sort is a least-significant-digit radix sort, in linear time and
+ * stable; its arrays are kept between sorts, so a sort allocates
+ * nothing once the list has stopped growing. The codes are kept as
+ * longs, since a field wider or deeper than 65536 cells needs more than
+ * 32 bits of code. The dead are dropped.
+ *
+ * @author Lavish K. Kumar
+ * @version 2022.03.02
+ */
+public class ZOrderSort
+{
+    // The number of bits of the code sorted on in each pass.
+    private static final int DIGIT_BITS = 11;
+
+    // The number of values a digit can take.
+    private static final int DIGITS = 1 << DIGIT_BITS;
+
+    // The number of bits of the codes of the field's cells.
+    private final int codeBits;
+
+    // The codes of the actors being sorted, and the codes as they are moved.
+    private long[] codes, sortedCodes;
+
+    // The actors being sorted, and the actors as they are moved.
+    private Actor[] actors, sortedActors;
+
+    // The number of codes with each digit, then the place of the next one.
+    private final int[] counts;
+
+    /**
+     * Create a sort for the actors of a field of the given size.
+     *
+     * @param depth The depth of the field.
+     * @param width The width of the field.
+     */
+    public ZOrderSort(int depth, int width)
+    {
+        int bits = Math.max(Morton.bitsFor(depth), Morton.bitsFor(width));
+        codeBits = 2 * bits;
+        codes = new long[0];
+        sortedCodes = new long[0];
+        actors = new Actor[0];
+        sortedActors = new Actor[0];
+        counts = new int[DIGITS];
+    }
+
+    /**
+     * Sort the living actors of a list into Z-order of their locations,
+     * dropping the dead. Actors in the same cell keep their order.
+     *
+     * @param list The actors.
+     */
+    public void sort(List<Actor> list)
+    {
+        int size = 0;
+        grow(list.size());
+        for (int index = 0; index < list.size(); index++) {
+            Actor actor = list.get(index);
+            if (actor.isAlive()) {
+                Location location = actor.getLocation();
+                codes[size] = Morton.encode(location.getRow(), location.getCol());
+                actors[size] = actor;
+                size++;
+            }
+        }
+
+        for (int shift = 0; shift < codeBits; shift += DIGIT_BITS) {
+            pass(size, shift);
+        }
+
+        list.clear();
+        for (int index = 0; index < size; index++) {
+            list.add(actors[index]);
+            actors[index] = null;
+        }
+    }
+
+    /**
+     * Move the actors into order by one digit of their codes, keeping
+     * the order of those with the same digit.
+     *
+     * @param size  The number of actors.
+     * @param shift The position of the digit's lowest bit.
+     */
+    private void pass(int size, int shift)
+    {
+        for (int digit = 0; digit < DIGITS; digit++) {
+            counts[digit] = 0;
+        }
+        for (int index = 0; index < size; index++) {
+            counts[(int) (codes[index] >>> shift) & (DIGITS - 1)]++;
+        }
+        int place = 0;
+        for (int digit = 0; digit < DIGITS; digit++) {
+            int count = counts[digit];
+            counts[digit] = place;
+            place += count;
+        }
+        for (int index = 0; index < size; index++) {
+            int target = counts[(int) (codes[index] >>> shift) & (DIGITS - 1)]++;
+            sortedCodes[target] = codes[index];
+            sortedActors[target] = actors[index];
+            actors[index] = null;
+        }
+
+        long[] swapCodes = codes;
+        codes = sortedCodes;
+        sortedCodes = swapCodes;
+        Actor[] swapActors = actors;
+        actors = sortedActors;
+        sortedActors = swapActors;
+    }
+
+    /**
+     * Make sure the arrays can hold a number of actors.
+     *
+     * @param size The number of actors.
+     */
+    private void grow(int size)
+    {
+        if (codes.length >= size) {
+            return;
+        }
+        int length = Math.max(size, codes.length * 3 / 2);
+        codes = new long[length];
+        sortedCodes = new long[length];
+        actors = new Actor[length];
+        sortedActors = new Actor[length];
+    }
+}